@@ -43,7 +43,7 @@ public class SecurityConfig {
                 .cors(Customizer.withDefaults())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/fixtures", "/oauth2/**", "/auth/**", "/swagger-ui/**", "/v3/api-docs/**").permitAll() // Public endpoints, don't require auth
+                        .requestMatchers("/fixtures", "/fixtures/live", "/oauth2/**", "/auth/**", "/swagger-ui/**", "/v3/api-docs/**").permitAll() // Public endpoints, don't require auth
                         .anyRequest().authenticated())
                 .requestCache(RequestCacheConfigurer::disable)
                 .addFilterBefore(requestFilter, UsernamePasswordAuthenticationFilter.class)
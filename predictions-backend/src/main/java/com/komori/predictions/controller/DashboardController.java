@@ -3,12 +3,14 @@ package com.komori.predictions.controller;
 import com.komori.predictions.dto.response.DashboardEssentials;
 import com.komori.predictions.dto.response.DashboardLeagueSummary;
 import com.komori.predictions.dto.response.DashboardPredictionSummary;
+import com.komori.predictions.dto.response.LiveStanding;
 import com.komori.predictions.service.DashboardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.CurrentSecurityContext;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Set;
@@ -36,4 +38,11 @@ public class DashboardController {
         Set<DashboardLeagueSummary> leagues = dashboardService.getLeagues(email);
         return ResponseEntity.ok(leagues);
     }
+
+    @GetMapping("/standings/live")
+    public ResponseEntity<LiveStanding> getLiveStandings(@CurrentSecurityContext(expression = "authentication?.name") String email,
+                                                         @RequestParam(defaultValue = "25") int limit) {
+        LiveStanding standing = dashboardService.getLiveGlobalStanding(email, limit);
+        return ResponseEntity.ok(standing);
+    }
 }
@@ -1,24 +1,87 @@
 package com.komori.predictions.controller;
 
-import com.komori.predictions.dto.response.Fixture;
-import com.komori.predictions.service.FixtureService;
+import com.komori.predictions.dto.fixture.FixtureSnapshot;
+import com.komori.predictions.service.FixtureSnapshotService;
+import com.komori.predictions.service.LiveScoreBroadcaster;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.time.Duration;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/fixtures")
 @RequiredArgsConstructor
 public class FixtureController {
-    private final FixtureService fixtureService;
+    private static final CacheControl FIXTURES_CACHE_CONTROL = CacheControl.maxAge(Duration.ofSeconds(15)).cachePublic();
+    private final FixtureSnapshotService fixtureSnapshotService;
+    private final LiveScoreBroadcaster liveScoreBroadcaster;
 
+    // Conditional requests are answered with a 304 by Spring, using the ETag set on the response
     @GetMapping
-    public ResponseEntity<List<Fixture>> getFixtures() {
-        List<Fixture> fixtures = fixtureService.getFixtures();
-        return ResponseEntity.ok(fixtures);
+    public ResponseEntity<byte[]> getFixtures(@RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        FixtureSnapshot snapshot = fixtureSnapshotService.getSnapshot();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(FIXTURES_CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        if (acceptsGzip(acceptEncoding)) {
+            return response
+                    .eTag(snapshot.gzipEtag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(snapshot.gzip());
+        }
+        return response
+                .eTag(snapshot.etag())
+                .body(snapshot.json());
+    }
+
+    // gzip unless it's refused with q=0, either by name or under a "*"
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        Double gzip = null;
+        Double wildcard = null;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = quality;
+            } else if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return wildcard != null && wildcard > 0;
+    }
+
+    // Kickoffs, goals and full time as they happen; reconnecting with Last-Event-ID replays anything missed
+    @GetMapping(path = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getLiveUpdates(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return liveScoreBroadcaster.connect(lastEventId);
     }
 }
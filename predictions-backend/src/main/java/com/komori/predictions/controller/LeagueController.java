@@ -6,6 +6,8 @@ import com.komori.predictions.dto.response.LeagueOverview;
 import com.komori.predictions.dto.request.CreateLeagueRequest;
 import com.komori.predictions.dto.response.LeaguePredictionSummary;
 import com.komori.predictions.dto.response.LeagueStanding;
+import com.komori.predictions.dto.response.LeagueStandingPage;
+import com.komori.predictions.dto.response.LiveStanding;
 import com.komori.predictions.service.LeagueService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -40,6 +42,22 @@ public class LeagueController {
         return ResponseEntity.ok(standing);
     }
 
+    @GetMapping("/{uuid}/standings/live")
+    public ResponseEntity<LiveStanding> getLiveLeagueStandings(@CurrentSecurityContext(expression = "authentication?.name") String email, @PathVariable String uuid) {
+        LiveStanding standing = leagueService.getLiveLeagueStanding(email, uuid);
+        return ResponseEntity.ok(standing);
+    }
+
+    @GetMapping("/{uuid}/standings/page")
+    public ResponseEntity<LeagueStandingPage> getLeagueStandingPage(@CurrentSecurityContext(expression = "authentication?.name") String email, @PathVariable String uuid,
+                                                                    @RequestParam(required = false) String after,
+                                                                    @RequestParam(required = false) String before,
+                                                                    @RequestParam(defaultValue = "false") boolean aroundMe,
+                                                                    @RequestParam(defaultValue = "25") int limit) {
+        LeagueStandingPage page = leagueService.getLeagueStandingPage(email, uuid, after, before, aroundMe, limit);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("{uuid}/predictions/{gameweek}")
     public ResponseEntity<List<LeaguePredictionSummary>> getUserPredictions(@PathVariable String uuid, @PathVariable Integer gameweek) {
         List<LeaguePredictionSummary> predictions = leagueService.getLeaguePredictions(uuid, gameweek);
@@ -5,6 +5,7 @@ import com.komori.predictions.repository.UserRepository;
 import com.komori.predictions.security.JwtUtil;
 import com.komori.predictions.service.ChipService;
 import com.komori.predictions.service.EmailService;
+import com.komori.predictions.service.LeaderboardService;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -25,6 +26,7 @@ public class OAuth2Controller {
     private String frontendUrl;
     private final ChipService chipService;
     private final EmailService emailService;
+    private final LeaderboardService leaderboardService;
     private final UserRepository userRepository;
     private final RestTemplate restTemplate;
     private final JwtUtil jwtUtil;
@@ -64,6 +66,7 @@ public class OAuth2Controller {
                     .accountVerified(true)
                     .build();
             newUser = userRepository.saveAndFlush(newUser);
+            leaderboardService.addGlobalUser(newUser.getId(), newUser.getTotalPoints());
             chipService.createChipsForNewUser(newUser);
             emailService.sendWelcomeEmail(email, firstName);
             response.sendRedirect(frontendUrl + "/auth/callback?email=" + email);
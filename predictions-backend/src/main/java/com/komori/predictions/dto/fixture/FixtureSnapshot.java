@@ -0,0 +1,4 @@
+package com.komori.predictions.dto.fixture;
+
+public record FixtureSnapshot(String revision, byte[] json, byte[] gzip, String etag, String gzipEtag) {
+}
@@ -0,0 +1,10 @@
+package com.komori.predictions.dto.fixture;
+
+import com.komori.predictions.dto.request.GameStatusAndScore;
+
+// previous is null the first time a fixture is observed after subscribing
+public record FixtureTransition(long fixtureId, Type type, GameStatusAndScore previous, GameStatusAndScore current) {
+    public enum Type {
+        KICKOFF, SCORE_CHANGE, FINISHED
+    }
+}
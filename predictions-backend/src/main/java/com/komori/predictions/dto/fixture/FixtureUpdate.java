@@ -0,0 +1,7 @@
+package com.komori.predictions.dto.fixture;
+
+import com.komori.predictions.dto.enumerated.GameStatus;
+
+// Pushed to live score clients whenever a fixture kicks off, scores or finishes
+public record FixtureUpdate(long fixtureId, GameStatus status, Integer homeScore, Integer awayScore) {
+}
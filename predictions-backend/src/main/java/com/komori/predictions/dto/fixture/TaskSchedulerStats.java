@@ -0,0 +1,4 @@
+package com.komori.predictions.dto.fixture;
+
+public record TaskSchedulerStats(int running, long lastLagMillis, long maxLagMillis, long timedOut) {
+}
@@ -0,0 +1,5 @@
+package com.komori.predictions.dto.leader;
+
+// fencingToken is 0 when leadership has been lost
+public record LeadershipChange(boolean leader, long fencingToken) {
+}
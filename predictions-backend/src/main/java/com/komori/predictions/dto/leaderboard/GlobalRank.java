@@ -0,0 +1,4 @@
+package com.komori.predictions.dto.leaderboard;
+
+public record GlobalRank(int rank, int totalUsers, double percentile) {
+}
@@ -0,0 +1,4 @@
+package com.komori.predictions.dto.leaderboard;
+
+public record LeaderboardEntry(long userId, int points, int position) {
+}
@@ -1,7 +1,7 @@
 package com.komori.predictions.dto.projection;
 
-public interface BestGameweekProjection {
-    Integer getGameweek();
+public interface MemberPointsProjection {
+    Long getUserId();
 
     Integer getPoints();
 }
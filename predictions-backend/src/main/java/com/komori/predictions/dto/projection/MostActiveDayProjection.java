@@ -1,7 +0,0 @@
-package com.komori.predictions.dto.projection;
-
-public interface MostActiveDayProjection {
-    String getDay();
-
-    Double getPercentage();
-}
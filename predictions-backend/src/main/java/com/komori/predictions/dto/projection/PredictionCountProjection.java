@@ -0,0 +1,7 @@
+package com.komori.predictions.dto.projection;
+
+public interface PredictionCountProjection {
+    Long getUserId();
+
+    Integer getPredictions();
+}
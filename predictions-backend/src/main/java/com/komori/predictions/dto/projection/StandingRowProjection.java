@@ -0,0 +1,21 @@
+package com.komori.predictions.dto.projection;
+
+import java.sql.Timestamp;
+
+public interface StandingRowProjection {
+    Long getUserId();
+
+    String getUuid();
+
+    String getUsername();
+
+    String getFirstName();
+
+    String getLastName();
+
+    Integer getPoints();
+
+    Boolean getIsAdmin();
+
+    Timestamp getJoinedAt();
+}
@@ -0,0 +1,20 @@
+package com.komori.predictions.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeagueStandingPage {
+    private String leagueId;
+    private Integer totalMembers;
+    private List<LeagueStanding.LeagueMember> standings;
+    private String previousCursor;
+    private String nextCursor;
+}
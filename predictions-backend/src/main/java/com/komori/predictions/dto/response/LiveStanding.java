@@ -0,0 +1,30 @@
+package com.komori.predictions.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Standings as they would be if every match in play ended now; points include provisionalPoints
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LiveStanding {
+    private String leagueId;
+    private List<LiveMember> standings;
+
+    @Data
+    @Builder
+    public static class LiveMember {
+        private String id;
+        private String username;
+        private String displayName;
+        private Integer position;
+        private Integer points;
+        private Integer provisionalPoints;
+        private Boolean isCurrentUser;
+    }
+}
@@ -24,11 +24,15 @@ public class StatsMonthlyPerformance {
         private Double accuracy;
 
         public MonthlyPerformance(MonthlyPerformanceProjection projection) {
-            this.month = mapMonth(projection.getMonth());
-            this.predictions = projection.getTotal();
-            this.accuracy = (projection.getTotal() == 0) ? 0.0 : ((projection.getCorrect() * 100.0)/projection.getTotal());
+            this(projection.getMonth(), projection.getTotal(), projection.getCorrect(), projection.getPoints());
+        }
+
+        public MonthlyPerformance(int month, int predictions, int correct, int points) {
+            this.month = mapMonth(month);
+            this.predictions = predictions;
+            this.accuracy = (predictions == 0) ? 0.0 : ((correct * 100.0)/predictions);
             this.accuracy = Math.round(this.accuracy * 100.0) / 100.0;
-            this.points = projection.getPoints();
+            this.points = points;
         }
 
         private String mapMonth(int month) {
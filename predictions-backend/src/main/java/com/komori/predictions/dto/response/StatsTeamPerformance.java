@@ -20,18 +20,24 @@ public class StatsTeamPerformance {
     @AllArgsConstructor
     public static class TeamPerformance {
         private Team team;
+        private String name;
         private Integer predictions;
         private Integer correct;
         private Double accuracy;
         private Integer points;
 
         public TeamPerformance(TeamPerformanceProjection projection) {
-            this.team = mapStringToTeam(projection.getTeam());
-            this.predictions = projection.getTotal();
-            this.correct = projection.getCorrect();
-            this.accuracy = (projection.getTotal() == 0) ? 0.0 : ((projection.getCorrect() * 100.0)/projection.getTotal());
+            this(projection.getTeam(), projection.getTotal(), projection.getCorrect(), projection.getPoints());
+        }
+
+        public TeamPerformance(String name, int predictions, int correct, int points) {
+            this.team = mapStringToTeam(name);
+            this.name = name;
+            this.predictions = predictions;
+            this.correct = correct;
+            this.accuracy = (predictions == 0) ? 0.0 : ((correct * 100.0)/predictions);
             this.accuracy = Math.round(this.accuracy * 100.0) / 100.0;
-            this.points = projection.getPoints();
+            this.points = points;
         }
 
         private Team mapStringToTeam(String team) {
@@ -50,7 +56,10 @@ public class StatsTeamPerformance {
             if (team.equalsIgnoreCase("man city")) {
                 return Team.MANCITY;
             }
-            return Team.MANUTD;
+            if (team.equalsIgnoreCase("man united")) {
+                return Team.MANUTD;
+            }
+            return null; // Not one of the Big Six; only those are returned
         }
     }
 }
@@ -0,0 +1,4 @@
+package com.komori.predictions.dto.settlement;
+
+public record LeaguePointsUpdate(String leagueUuid, long userId, int points) {
+}
@@ -0,0 +1,5 @@
+package com.komori.predictions.dto.settlement;
+
+// attempts includes the claim that returned this job
+public record SettlementJob(long matchId, int attempts) {
+}
@@ -0,0 +1,6 @@
+package com.komori.predictions.dto.settlement;
+
+import com.komori.predictions.scoring.PredictionPick;
+
+public record SettlementPrediction(long id, long userId, PredictionPick pick) {
+}
@@ -0,0 +1,4 @@
+package com.komori.predictions.dto.settlement;
+
+public record SettlementResult(long matchId, int predictionsSettled, int rowsWritten, long durationMillis) {
+}
@@ -0,0 +1,4 @@
+package com.komori.predictions.dto.settlement;
+
+public record UserPointsUpdate(long userId, int totalPoints) {
+}
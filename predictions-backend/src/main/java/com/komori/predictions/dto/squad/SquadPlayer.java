@@ -0,0 +1,10 @@
+package com.komori.predictions.dto.squad;
+
+import com.komori.predictions.dto.enumerated.Position;
+import com.komori.predictions.entity.PlayerEntity;
+
+public record SquadPlayer(long playerId, String name, int teamId, Position position) {
+    public SquadPlayer(PlayerEntity entity) {
+        this(entity.getPlayerId(), entity.getName(), entity.getTeam().getTeamId(), entity.getPosition());
+    }
+}
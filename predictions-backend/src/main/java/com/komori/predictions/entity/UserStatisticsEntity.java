@@ -0,0 +1,60 @@
+package com.komori.predictions.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Maintained by settlement (see SettlementRepository) and, for the weekday counts, by PredictionService; read-only from JPA
+@Entity
+@Table(name = "user_statistics")
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserStatisticsEntity {
+    private static final String[] DAYS = {"Sunday", "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"};
+
+    @Id
+    private Long userId;
+    private int predictions;
+    private int correct;
+    private int points;
+    private int predictionsMade;
+    private int sunday;
+    private int monday;
+    private int tuesday;
+    private int wednesday;
+    private int thursday;
+    private int friday;
+    private int saturday;
+    private Integer bestGameweek;
+    private Integer bestGameweekPoints;
+
+    public double getAccuracy() {
+        return (predictions == 0) ? 0.0 : (correct * 100.0) / predictions;
+    }
+
+    public String getMostActiveDay() {
+        int[] counts = dayCounts();
+        int best = 0;
+        for (int i = 1; i < counts.length; i++) {
+            if (counts[i] > counts[best]) {
+                best = i;
+            }
+        }
+        return DAYS[best];
+    }
+
+    public double getMostActiveDayPercentage() {
+        int[] counts = dayCounts();
+        int max = 0;
+        for (int count : counts) {
+            max = Math.max(max, count);
+        }
+        return (predictionsMade == 0) ? 0.0 : (max * 100.0) / predictionsMade;
+    }
+
+    private int[] dayCounts() {
+        return new int[]{sunday, monday, tuesday, wednesday, thursday, friday, saturday};
+    }
+}
@@ -88,6 +88,16 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.CONFLICT, "Username already taken");
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<?> handleInvalidCursor() {
+        return buildResponse(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+
+    @ExceptionHandler(PredictionClosedException.class)
+    public ResponseEntity<?> handlePredictionClosed() {
+        return buildResponse(HttpStatus.BAD_REQUEST, "Predictions closed for this match");
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleGeneralException(Exception e) {
         log.error("Unexpected error occurred: {}", e.getMessage());
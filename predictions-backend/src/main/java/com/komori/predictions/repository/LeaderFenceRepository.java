@@ -0,0 +1,35 @@
+package com.komori.predictions.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class LeaderFenceRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    // Waits for writes still running under the previous token to commit, then hands out a new one
+    public long advance() {
+        Long token = jdbcTemplate.queryForObject("""
+                UPDATE leader_fence
+                SET token = token + 1
+                WHERE name = 'scheduler'
+                RETURNING token
+                """, Long.class);
+        if (token == null) {
+            throw new IllegalStateException("Scheduler fence row missing");
+        }
+        return token;
+    }
+
+    // Share-locks the fence for the rest of the transaction, so leadership can't change hands until it commits
+    public boolean isCurrent(long token) {
+        return !jdbcTemplate.queryForList("""
+                SELECT token
+                FROM leader_fence
+                WHERE name = 'scheduler' AND token = ?
+                FOR SHARE
+                """, Long.class, token).isEmpty();
+    }
+}
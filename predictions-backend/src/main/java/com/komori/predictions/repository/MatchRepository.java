@@ -4,7 +4,13 @@ import com.komori.predictions.entity.MatchEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface MatchRepository extends JpaRepository<MatchEntity, Long> {
-    MatchEntity findByMatchId(Long matchId);
+    List<MatchEntity> findAllByMatchIdIn(Collection<Long> matchIds);
+    Optional<MatchEntity> findByMatchId(Long matchId);
+    boolean existsByMatchId(Long matchId);
 }
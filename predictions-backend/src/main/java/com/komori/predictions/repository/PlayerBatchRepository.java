@@ -0,0 +1,73 @@
+package com.komori.predictions.repository;
+
+import com.komori.predictions.dto.enumerated.Position;
+import com.komori.predictions.dto.squad.SquadPlayer;
+import com.komori.predictions.entity.PlayerEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Plain JDBC for bulk player reads and writes, so squad loads and syncs don't go through the persistence context
+@Repository
+@RequiredArgsConstructor
+public class PlayerBatchRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<PlayerEntity> players) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO players (player_id, name, team_id, position)
+                VALUES (?, ?, ?, ?)
+                """,
+                players,
+                players.size(),
+                (ps, player) -> {
+                    ps.setLong(1, player.getPlayerId());
+                    ps.setString(2, player.getName());
+                    ps.setLong(3, player.getTeam().getId());
+                    ps.setString(4, player.getPosition().name());
+                });
+    }
+
+    public List<SquadPlayer> findAllSquadPlayers() {
+        return jdbcTemplate.query("""
+                SELECT p.player_id, p.name, t.team_id, p.position
+                FROM players p
+                JOIN teams t ON t.id = p.team_id
+                """,
+                (rs, rowNum) -> new SquadPlayer(
+                        rs.getLong("player_id"),
+                        rs.getString("name"),
+                        rs.getInt("team_id"),
+                        rs.getString("position") == null ? null : Position.valueOf(rs.getString("position"))));
+    }
+
+    // Removals and upserts go out as one statement, so a sync is applied entirely or not at all
+    public void applySquadChanges(List<SquadPlayer> upserts, Long[] removedPlayerIds) {
+        Long[] playerIds = upserts.stream().map(SquadPlayer::playerId).toArray(Long[]::new);
+        String[] names = upserts.stream().map(SquadPlayer::name).toArray(String[]::new);
+        Integer[] teamIds = upserts.stream().map(SquadPlayer::teamId).toArray(Integer[]::new);
+        String[] positions = upserts.stream().map(player -> player.position().name()).toArray(String[]::new);
+
+        jdbcTemplate.update("""
+                WITH removed AS (
+                    DELETE FROM players
+                    WHERE player_id = ANY(?::bigint[])
+                )
+                INSERT INTO players (player_id, name, team_id, position)
+                SELECT v.player_id, v.name, t.id, v.position
+                FROM unnest(?::bigint[], ?::varchar[], ?::integer[], ?::varchar[]) AS v(player_id, name, team, position)
+                JOIN teams t ON t.team_id = v.team
+                ON CONFLICT (player_id) DO UPDATE
+                SET name = EXCLUDED.name, team_id = EXCLUDED.team_id, position = EXCLUDED.position
+                """,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("bigint", removedPlayerIds));
+                    ps.setArray(2, ps.getConnection().createArrayOf("bigint", playerIds));
+                    ps.setArray(3, ps.getConnection().createArrayOf("varchar", names));
+                    ps.setArray(4, ps.getConnection().createArrayOf("integer", teamIds));
+                    ps.setArray(5, ps.getConnection().createArrayOf("varchar", positions));
+                });
+    }
+}
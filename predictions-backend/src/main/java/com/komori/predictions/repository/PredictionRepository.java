@@ -1,6 +1,7 @@
 package com.komori.predictions.repository;
 
 import com.komori.predictions.dto.projection.*;
+import com.komori.predictions.dto.response.LeaguePredictionSummary;
 import com.komori.predictions.entity.PredictionEntity;
 import com.komori.predictions.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -23,6 +25,23 @@ public interface PredictionRepository extends JpaRepository<PredictionEntity, Lo
     """)
     Integer countPredictionsSinceGameweek(@Param("email") String email, @Param("startGw") Integer startGw, @Param("endGw") Integer endGw);
 
+    @Query("""
+    select ul.user.id as userId, cast(count(p) as integer) as predictions
+    from UserLeagueEntity ul
+    join PredictionEntity p on p.user = ul.user
+    where ul.league.id = :leagueId and p.gameweek between :startGw and :endGw
+    group by ul.user.id
+    """)
+    List<PredictionCountProjection> countPredictionsSinceGameweekByLeague(@Param("leagueId") Long leagueId, @Param("startGw") Integer startGw, @Param("endGw") Integer endGw);
+
+    @Query("""
+    select p.user.id as userId, cast(count(p) as integer) as predictions
+    from PredictionEntity p
+    where p.user.id in :userIds and p.gameweek between :startGw and :endGw
+    group by p.user.id
+    """)
+    List<PredictionCountProjection> countPredictionsSinceGameweekByUsers(@Param("userIds") Collection<Long> userIds, @Param("startGw") Integer startGw, @Param("endGw") Integer endGw);
+
     @Query("""
     select coalesce(sum(p.points), 0)
     from PredictionEntity p
@@ -30,92 +49,22 @@ public interface PredictionRepository extends JpaRepository<PredictionEntity, Lo
     """)
     Integer getPointsSinceGameweek(@Param("email") String email, @Param("startGw") Integer startGw, @Param("endGw") Integer endGw);
 
-    @Query(value = """
-    SELECT
-            COUNT(*) AS total,
-            SUM(CASE WHEN p.correct = TRUE THEN 1 ELSE 0 END) AS correct
-    FROM predictions p
-    WHERE p.user_id = :userId
-    """, nativeQuery = true)
-    AccuracyStatsProjection getAccuracyStatsByUserId(@Param("userId") Long userId);
-
-    @Query(value = """
-    WITH teams AS (
-        SELECT 'Arsenal' AS team
-            UNION ALL SELECT 'Chelsea'
-            UNION ALL SELECT 'Liverpool'
-            UNION ALL SELECT 'Man City'
-            UNION ALL SELECT 'Man United'
-            UNION ALL SELECT 'Tottenham'
-    )
-    SELECT
-            t.team,
-            COUNT(p.id) AS total,
-            COALESCE(SUM(CASE WHEN p.correct THEN 1 ELSE 0 END),0) AS correct,
-            COALESCE(SUM(p.points),0) AS points
-    FROM teams t
-    LEFT JOIN predictions p
-            ON (p.home_team = t.team OR p.away_team = t.team)
-            AND p.user_id = (SELECT id FROM users WHERE email = :email)
-    GROUP BY t.team
-    """, nativeQuery = true)
-    List<TeamPerformanceProjection> getTeamPerformanceByEmail(@Param("email") String email);
-
-    @Query(value = """
-    WITH months AS (
-            SELECT generate_series(1,12) AS month
-    )
-    SELECT
-            m.month,
-            COUNT(p.id) AS total,
-            COALESCE(SUM(CASE WHEN p.correct THEN 1 ELSE 0 END),0) AS correct,
-            COALESCE(SUM(p.points),0) AS points
-    FROM months m
-    LEFT JOIN predictions p
-            ON EXTRACT(MONTH FROM p.date) = m.month
-            AND p.user_id = (SELECT id FROM users WHERE email = :email)
-    GROUP BY m.month
-    ORDER BY m.month
-    """, nativeQuery = true)
-    List<MonthlyPerformanceProjection> getMonthlyPerformance(@Param("email") String email);
-
-    @Query(value = """
-    SELECT
-            gameweek AS gameweek,
-            SUM(points) AS points
-    FROM predictions p
-    WHERE p.user_id = (SELECT id FROM users WHERE email = :email)
-    GROUP BY gameweek
-    ORDER BY points DESC
-    LIMIT 1
-    """, nativeQuery = true)
-    BestGameweekProjection getBestGameweek(@Param("email") String email);
-
-    @Query(value = """
-    SELECT
-            CASE EXTRACT(DOW FROM p.date)
-                WHEN 0 THEN 'Sunday'
-                WHEN 1 THEN 'Monday'
-                WHEN 2 THEN 'Tuesday'
-                WHEN 3 THEN 'Wednesday'
-                WHEN 4 THEN 'Thursday'
-                WHEN 5 THEN 'Friday'
-                WHEN 6 THEN 'Saturday'
-            END AS day,
-            (COUNT(*) * 100.0 / (SELECT COUNT(*)
-                                FROM predictions
-                                WHERE predictions.user_id = (SELECT id FROM users WHERE email = :email))) AS percentage
-    FROM predictions p
-    WHERE p.user_id = (SELECT id FROM users WHERE email = :email)
-    GROUP BY day
-    ORDER BY COUNT(*) DESC
-    LIMIT 1
-    """, nativeQuery = true)
-    MostActiveDayProjection getMostActiveDay(@Param("email") String email);
-
     PredictionEntity findByMatchIdAndUser_Email(Long matchId, String userEmail);
 
     List<PredictionEntity> findAllByMatchId(Long matchId);
 
-    List<PredictionEntity> findAllByUserAndGameweek(UserEntity user, Integer gameweek);
+    // Columns follow LeaguePredictionSummary's all-args constructor order
+    @Query("""
+    select new com.komori.predictions.dto.response.LeaguePredictionSummary(
+        p.matchId, u.username, p.homeTeam, p.awayTeam, p.homeScore, p.awayScore, p.homeScorers, p.awayScorers,
+        m.homeScore, m.awayScore, m.homeScorers, m.awayScorers,
+        p.correct, p.points, p.gameweek, m.venue, p.status, p.chips, p.date)
+    from PredictionEntity p
+    join p.user u
+    join UserLeagueEntity ul on ul.user = u
+    left join MatchEntity m on m.matchId = p.matchId
+    where ul.league.UUID = :leagueUuid and p.gameweek = :gameweek
+    order by u.id, p.matchId
+    """)
+    List<LeaguePredictionSummary> findLeaguePredictionSummaries(@Param("leagueUuid") String leagueUuid, @Param("gameweek") Integer gameweek);
 }
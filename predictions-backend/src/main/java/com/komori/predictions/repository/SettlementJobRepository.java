@@ -0,0 +1,104 @@
+package com.komori.predictions.repository;
+
+import com.komori.predictions.dto.settlement.SettlementJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class SettlementJobRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    // The match id is the idempotency key, so recording the same result twice still leaves one job
+    public void enqueue(long matchId) {
+        jdbcTemplate.update("""
+                INSERT INTO settlement_jobs (match_id)
+                VALUES (?)
+                ON CONFLICT (match_id) DO NOTHING
+                """, matchId);
+    }
+
+    // Claims the oldest due job by pushing its next attempt past the lease, so a worker that dies mid-job
+    // only hides it until the lease runs out
+    public Optional<SettlementJob> claimNext(Duration lease) {
+        List<SettlementJob> claimed = jdbcTemplate.query("""
+                UPDATE settlement_jobs
+                SET attempts = attempts + 1, next_attempt_at = now() + ? * INTERVAL '1 second'
+                WHERE match_id = (
+                    SELECT match_id
+                    FROM settlement_jobs
+                    WHERE status = 'PENDING' AND next_attempt_at <= now()
+                    ORDER BY next_attempt_at
+                    LIMIT 1
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING match_id, attempts
+                """,
+                (rs, rowNum) -> new SettlementJob(rs.getLong("match_id"), rs.getInt("attempts")),
+                lease.toSeconds());
+        return claimed.stream().findFirst();
+    }
+
+    // Locks the job for the settling transaction; false once another worker has already completed it
+    public boolean lockPending(long matchId) {
+        return !jdbcTemplate.queryForList("""
+                SELECT match_id
+                FROM settlement_jobs
+                WHERE match_id = ? AND status = 'PENDING'
+                FOR UPDATE
+                """, Long.class, matchId).isEmpty();
+    }
+
+    public void complete(long matchId) {
+        jdbcTemplate.update("""
+                UPDATE settlement_jobs
+                SET status = 'DONE', settled_at = now(), last_error = NULL
+                WHERE match_id = ?
+                """, matchId);
+    }
+
+    public void retry(long matchId, Duration delay, String error) {
+        jdbcTemplate.update("""
+                UPDATE settlement_jobs
+                SET next_attempt_at = now() + ? * INTERVAL '1 second', last_error = ?
+                WHERE match_id = ?
+                """, delay.toSeconds(), error, matchId);
+    }
+
+    public void fail(long matchId, String error) {
+        jdbcTemplate.update("""
+                UPDATE settlement_jobs
+                SET status = 'FAILED', last_error = ?
+                WHERE match_id = ?
+                """, error, matchId);
+    }
+
+    // Hands a claimed job straight back without counting the attempt
+    public void release(long matchId) {
+        jdbcTemplate.update("""
+                UPDATE settlement_jobs
+                SET attempts = attempts - 1, next_attempt_at = now()
+                WHERE match_id = ?
+                """, matchId);
+    }
+
+    // Queues recorded matches with unsettled predictions whose job went missing or failed. A DONE job stays done:
+    // anything still unsettled there was never meant to score
+    public int requeueUnsettled() {
+        return jdbcTemplate.update("""
+                INSERT INTO settlement_jobs (match_id)
+                SELECT DISTINCT m.match_id
+                FROM matches m
+                JOIN predictions p ON p.match_id = m.match_id
+                WHERE p.status IS DISTINCT FROM 'COMPLETED'
+                ON CONFLICT (match_id) DO UPDATE
+                SET status = 'PENDING', attempts = 0, next_attempt_at = now()
+                WHERE settlement_jobs.status = 'FAILED'
+                """);
+    }
+}
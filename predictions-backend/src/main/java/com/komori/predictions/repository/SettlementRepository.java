@@ -0,0 +1,173 @@
+package com.komori.predictions.repository;
+
+import com.komori.predictions.dto.enumerated.Chip;
+import com.komori.predictions.dto.settlement.LeaguePointsUpdate;
+import com.komori.predictions.dto.settlement.UserPointsUpdate;
+import com.komori.predictions.dto.settlement.SettlementPrediction;
+import com.komori.predictions.scoring.PredictionPick;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+// Plain JDBC rather than JPA so that a whole match can be settled in a handful of round trips
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class SettlementRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    // A prediction without both scores can't be scored, so it is left unsettled rather than read as 0-0
+    public List<SettlementPrediction> findUnsettledPredictions(long matchId) {
+        List<SettlementPrediction> predictions = jdbcTemplate.query("""
+                SELECT id, user_id, home_score, away_score, home_scorers, away_scorers, chips
+                FROM predictions
+                WHERE match_id = ? AND status IS DISTINCT FROM 'COMPLETED'
+                """,
+                (rs, rowNum) -> {
+                    Integer homeScore = rs.getObject("home_score", Integer.class);
+                    Integer awayScore = rs.getObject("away_score", Integer.class);
+                    if (homeScore == null || awayScore == null) {
+                        log.warn("Skipping prediction {} for match {}: missing a predicted score", rs.getLong("id"), matchId);
+                        return null;
+                    }
+                    return new SettlementPrediction(
+                            rs.getLong("id"),
+                            rs.getLong("user_id"),
+                            new PredictionPick(
+                                    homeScore,
+                                    awayScore,
+                                    toStringList(rs.getArray("home_scorers")),
+                                    toStringList(rs.getArray("away_scorers")),
+                                    toChipMask(rs.getArray("chips"))));
+                },
+                matchId);
+        return predictions.stream().filter(Objects::nonNull).toList();
+    }
+
+    public int completePredictions(Long[] predictionIds, Integer[] points, Boolean[] correct) {
+        return jdbcTemplate.update("""
+                UPDATE predictions p
+                SET points = v.points, correct = v.correct, status = 'COMPLETED'
+                FROM unnest(?::bigint[], ?::integer[], ?::boolean[]) AS v(id, points, correct)
+                WHERE p.id = v.id
+                """,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("bigint", predictionIds));
+                    ps.setArray(2, ps.getConnection().createArrayOf("integer", points));
+                    ps.setArray(3, ps.getConnection().createArrayOf("boolean", correct));
+                });
+    }
+
+    public List<UserPointsUpdate> addUserPoints(Long[] userIds, Integer[] points) {
+        return jdbcTemplate.query("""
+                UPDATE users u
+                SET total_points = u.total_points + v.points
+                FROM unnest(?::bigint[], ?::integer[]) AS v(user_id, points)
+                WHERE u.id = v.user_id
+                RETURNING u.id, u.total_points
+                """,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("bigint", userIds));
+                    ps.setArray(2, ps.getConnection().createArrayOf("integer", points));
+                },
+                (rs, rowNum) -> new UserPointsUpdate(rs.getLong("id"), rs.getInt("total_points")));
+    }
+
+    public List<LeaguePointsUpdate> addLeaguePoints(Long[] userIds, Integer[] points) {
+        return jdbcTemplate.query("""
+                UPDATE user_league_table ult
+                SET points = COALESCE(ult.points, 0) + v.points
+                FROM unnest(?::bigint[], ?::integer[]) AS v(user_id, points), leagues l
+                WHERE ult.user_id = v.user_id AND l.id = ult.league_id
+                RETURNING l.uuid, ult.user_id, ult.points
+                """,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("bigint", userIds));
+                    ps.setArray(2, ps.getConnection().createArrayOf("integer", points));
+                },
+                (rs, rowNum) -> new LeaguePointsUpdate(rs.getString("uuid"), rs.getLong("user_id"), rs.getInt("points")));
+    }
+
+    // Folds freshly completed predictions into the per-user statistics and rollup tables
+    public int updateUserStatistics(Long[] predictionIds) {
+        int rows = jdbcTemplate.update("""
+                INSERT INTO user_statistics AS s (user_id, predictions, correct, points)
+                SELECT p.user_id, 1, CASE WHEN p.correct THEN 1 ELSE 0 END, p.points
+                FROM predictions p
+                WHERE p.id = ANY(?::bigint[])
+                ON CONFLICT (user_id) DO UPDATE SET
+                    predictions = s.predictions + EXCLUDED.predictions,
+                    correct = s.correct + EXCLUDED.correct,
+                    points = s.points + EXCLUDED.points
+                """,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", predictionIds)));
+
+        rows += jdbcTemplate.update("""
+                INSERT INTO user_gameweek_points AS g (user_id, gameweek, points)
+                SELECT p.user_id, p.gameweek, p.points
+                FROM predictions p
+                WHERE p.id = ANY(?::bigint[]) AND p.gameweek IS NOT NULL
+                ON CONFLICT (user_id, gameweek) DO UPDATE SET points = g.points + EXCLUDED.points
+                """,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", predictionIds)));
+
+        rows += jdbcTemplate.update("""
+                INSERT INTO user_team_stats AS t (user_id, team, correct, points)
+                SELECT p.user_id, x.team, CASE WHEN p.correct THEN 1 ELSE 0 END, p.points
+                FROM predictions p
+                CROSS JOIN LATERAL (VALUES (p.home_team), (p.away_team)) AS x(team)
+                WHERE p.id = ANY(?::bigint[]) AND x.team IS NOT NULL
+                ON CONFLICT (user_id, team) DO UPDATE SET
+                    correct = t.correct + EXCLUDED.correct,
+                    points = t.points + EXCLUDED.points
+                """,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", predictionIds)));
+
+        rows += jdbcTemplate.update("""
+                INSERT INTO user_month_stats AS m (user_id, month, correct, points)
+                SELECT p.user_id, EXTRACT(MONTH FROM p.date), CASE WHEN p.correct THEN 1 ELSE 0 END, p.points
+                FROM predictions p
+                WHERE p.id = ANY(?::bigint[]) AND p.date IS NOT NULL
+                ON CONFLICT (user_id, month) DO UPDATE SET
+                    correct = m.correct + EXCLUDED.correct,
+                    points = m.points + EXCLUDED.points
+                """,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", predictionIds)));
+
+        // Points can be negative, so the best gameweek is re-picked from at most one row per gameweek
+        rows += jdbcTemplate.update("""
+                UPDATE user_statistics s
+                SET best_gameweek = b.gameweek, best_gameweek_points = b.points
+                FROM (SELECT DISTINCT ON (g.user_id) g.user_id, g.gameweek, g.points
+                      FROM user_gameweek_points g
+                      WHERE g.user_id IN (SELECT p.user_id FROM predictions p WHERE p.id = ANY(?::bigint[]))
+                      ORDER BY g.user_id, g.points DESC, g.gameweek) b
+                WHERE s.user_id = b.user_id
+                """,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", predictionIds)));
+        return rows;
+    }
+
+    private int toChipMask(Array array) throws SQLException {
+        int mask = 0;
+        for (String chip : toStringList(array)) {
+            mask |= 1 << Chip.valueOf(chip).ordinal();
+        }
+        return mask;
+    }
+
+    private List<String> toStringList(Array array) throws SQLException {
+        if (array == null) {
+            return new ArrayList<>();
+        }
+        return Arrays.asList((String[]) array.getArray());
+    }
+}
@@ -1,5 +1,7 @@
 package com.komori.predictions.repository;
 
+import com.komori.predictions.dto.projection.MemberPointsProjection;
+import com.komori.predictions.dto.projection.StandingRowProjection;
 import com.komori.predictions.entity.LeagueEntity;
 import com.komori.predictions.entity.UserLeagueEntity;
 import com.komori.predictions.entity.id.UserLeagueId;
@@ -23,6 +25,62 @@ public interface UserLeagueRepository extends JpaRepository<UserLeagueEntity, Us
 
     List<UserLeagueEntity> findAllByLeague(LeagueEntity league);
 
+    @Query("""
+    select ul from UserLeagueEntity ul
+    join fetch ul.user
+    where ul.league = :league
+    """)
+    List<UserLeagueEntity> findAllWithUserByLeague(@Param("league") LeagueEntity league);
+
+    @Query("""
+    select ul.user.id as userId, coalesce(ul.points, 0) as points
+    from UserLeagueEntity ul
+    where ul.league.id = :leagueId
+    """)
+    List<MemberPointsProjection> findMemberPointsByLeagueId(@Param("leagueId") Long leagueId);
+
+    @Query(value = """
+    SELECT u.id AS userId, u.uuid AS uuid, u.username AS username, u.first_name AS firstName, u.last_name AS lastName,
+           ult.points AS points, ult.is_admin AS isAdmin, ult.joined_at AS joinedAt
+    FROM user_league_table ult
+    JOIN users u ON u.id = ult.user_id
+    WHERE ult.league_id = :leagueId
+    ORDER BY ult.points DESC, ult.user_id
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<StandingRowProjection> findStandingsFirstPage(@Param("leagueId") Long leagueId, @Param("limit") int limit);
+
+    // Rows ranked below (points, userId), in table order
+    @Query(value = """
+    SELECT u.id AS userId, u.uuid AS uuid, u.username AS username, u.first_name AS firstName, u.last_name AS lastName,
+           ult.points AS points, ult.is_admin AS isAdmin, ult.joined_at AS joinedAt
+    FROM user_league_table ult
+    JOIN users u ON u.id = ult.user_id
+    WHERE ult.league_id = :leagueId
+      AND (ult.points < :points OR (ult.points = :points AND ult.user_id > :userId))
+    ORDER BY ult.points DESC, ult.user_id
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<StandingRowProjection> findStandingsAfter(@Param("leagueId") Long leagueId, @Param("points") int points,
+                                                   @Param("userId") long userId, @Param("limit") int limit);
+
+    // Rows ranked above (points, userId), nearest first
+    @Query(value = """
+    SELECT u.id AS userId, u.uuid AS uuid, u.username AS username, u.first_name AS firstName, u.last_name AS lastName,
+           ult.points AS points, ult.is_admin AS isAdmin, ult.joined_at AS joinedAt
+    FROM user_league_table ult
+    JOIN users u ON u.id = ult.user_id
+    WHERE ult.league_id = :leagueId
+      AND (ult.points > :points OR (ult.points = :points AND ult.user_id < :userId))
+    ORDER BY ult.points, ult.user_id DESC
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<StandingRowProjection> findStandingsBefore(@Param("leagueId") Long leagueId, @Param("points") int points,
+                                                    @Param("userId") long userId, @Param("limit") int limit);
+
+    @Query("select ul.league.UUID from UserLeagueEntity ul where ul.user.id = :userId")
+    List<String> findLeagueUuidsByUserId(@Param("userId") Long userId);
+
     void deleteAllByLeague(LeagueEntity league);
 
     Optional<UserLeagueEntity> findByUserUUIDAndLeagueUUID(String userId, String leagueId);
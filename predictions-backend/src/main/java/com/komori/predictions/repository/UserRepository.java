@@ -1,11 +1,13 @@
 package com.komori.predictions.repository;
 
+import com.komori.predictions.dto.projection.MemberPointsProjection;
 import com.komori.predictions.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,23 +18,6 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
 
     boolean existsByUsername(String username);
 
-    @Query(value = """
-    SELECT rank FROM (
-            SELECT id, RANK() OVER (ORDER BY total_points DESC) AS rank
-                FROM users
-        ) sub
-    WHERE id = :id
-    """, nativeQuery = true)
-    Integer findUserRank(@Param("id") Long id);
-
-    @Query(value = """
-    SELECT rank FROM (
-            SELECT u.id, RANK() OVER (ORDER BY u.total_points DESC) AS rank
-            FROM users AS u
-            JOIN user_league_table AS ult on u.id = ult.user_id
-            WHERE ult.league_id = :leagueId
-        ) sub
-    WHERE id = :userId
-    """, nativeQuery = true)
-    Integer findUserRankInLeague(@Param("userId") Long userId, @Param("leagueId") Long leagueId);
+    @Query("select u.id as userId, u.totalPoints as points from UserEntity u")
+    List<MemberPointsProjection> findAllUserPoints();
 }
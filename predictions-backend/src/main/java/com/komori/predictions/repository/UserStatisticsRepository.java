@@ -0,0 +1,85 @@
+package com.komori.predictions.repository;
+
+import com.komori.predictions.dto.projection.MonthlyPerformanceProjection;
+import com.komori.predictions.dto.projection.TeamPerformanceProjection;
+import com.komori.predictions.entity.UserStatisticsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserStatisticsRepository extends JpaRepository<UserStatisticsEntity, Long> {
+    @Query("""
+    select s from UserStatisticsEntity s, UserEntity u
+    where u.id = s.userId and u.email = :email
+    """)
+    Optional<UserStatisticsEntity> findByEmail(@Param("email") String email);
+
+    // Adds (delta 1) or takes back (delta -1) the weekday of a prediction's current date; made is 1 for a new prediction
+    @Modifying
+    @Query(value = """
+    INSERT INTO user_statistics AS s (user_id, predictions_made, sunday, monday, tuesday, wednesday, thursday, friday, saturday)
+    SELECT p.user_id, :made,
+           (EXTRACT(DOW FROM p.date) = 0)::int * :delta, (EXTRACT(DOW FROM p.date) = 1)::int * :delta,
+           (EXTRACT(DOW FROM p.date) = 2)::int * :delta, (EXTRACT(DOW FROM p.date) = 3)::int * :delta,
+           (EXTRACT(DOW FROM p.date) = 4)::int * :delta, (EXTRACT(DOW FROM p.date) = 5)::int * :delta,
+           (EXTRACT(DOW FROM p.date) = 6)::int * :delta
+    FROM predictions p
+    WHERE p.id = :predictionId
+    ON CONFLICT (user_id) DO UPDATE SET
+        predictions_made = s.predictions_made + EXCLUDED.predictions_made,
+        sunday = s.sunday + EXCLUDED.sunday,
+        monday = s.monday + EXCLUDED.monday,
+        tuesday = s.tuesday + EXCLUDED.tuesday,
+        wednesday = s.wednesday + EXCLUDED.wednesday,
+        thursday = s.thursday + EXCLUDED.thursday,
+        friday = s.friday + EXCLUDED.friday,
+        saturday = s.saturday + EXCLUDED.saturday
+    """, nativeQuery = true)
+    void countPredictionDay(@Param("predictionId") Long predictionId, @Param("made") int made, @Param("delta") int delta);
+
+    // Counted once when a prediction is made; correct and points are added by settlement
+    @Modifying
+    @Query(value = """
+    INSERT INTO user_team_stats AS t (user_id, team, predictions)
+    SELECT p.user_id, x.team, 1
+    FROM predictions p
+    CROSS JOIN LATERAL (VALUES (p.home_team), (p.away_team)) AS x(team)
+    WHERE p.id = :predictionId AND x.team IS NOT NULL
+    ON CONFLICT (user_id, team) DO UPDATE SET
+        predictions = t.predictions + 1
+    """, nativeQuery = true)
+    void countPredictionTeams(@Param("predictionId") Long predictionId);
+
+    // Adds (delta 1) or takes back (delta -1) the month of a prediction's current date
+    @Modifying
+    @Query(value = """
+    INSERT INTO user_month_stats AS m (user_id, month, predictions)
+    SELECT p.user_id, EXTRACT(MONTH FROM p.date), :delta
+    FROM predictions p
+    WHERE p.id = :predictionId AND p.date IS NOT NULL
+    ON CONFLICT (user_id, month) DO UPDATE SET
+        predictions = m.predictions + EXCLUDED.predictions
+    """, nativeQuery = true)
+    void countPredictionMonth(@Param("predictionId") Long predictionId, @Param("delta") int delta);
+
+    @Query(value = """
+    SELECT s.team AS team, s.predictions AS total, s.correct AS correct, s.points AS points
+    FROM user_team_stats s
+    WHERE s.user_id = (SELECT id FROM users WHERE email = :email)
+    ORDER BY s.predictions DESC, s.team
+    """, nativeQuery = true)
+    List<TeamPerformanceProjection> findTeamPerformanceByEmail(@Param("email") String email);
+
+    @Query(value = """
+    SELECT s.month AS month, s.predictions AS total, s.correct AS correct, s.points AS points
+    FROM user_month_stats s
+    WHERE s.user_id = (SELECT id FROM users WHERE email = :email)
+    """, nativeQuery = true)
+    List<MonthlyPerformanceProjection> findMonthlyPerformanceByEmail(@Param("email") String email);
+}
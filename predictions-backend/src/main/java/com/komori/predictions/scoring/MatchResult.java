@@ -0,0 +1,16 @@
+package com.komori.predictions.scoring;
+
+import com.komori.predictions.entity.MatchEntity;
+
+import java.util.List;
+
+public record MatchResult(int homeScore, int awayScore, List<String> homeScorers, List<String> awayScorers) {
+    public MatchResult {
+        homeScorers = (homeScorers == null) ? List.of() : homeScorers;
+        awayScorers = (awayScorers == null) ? List.of() : awayScorers;
+    }
+
+    public static MatchResult of(MatchEntity match) {
+        return new MatchResult(match.getHomeScore(), match.getAwayScore(), match.getHomeScorers(), match.getAwayScorers());
+    }
+}
@@ -0,0 +1,32 @@
+package com.komori.predictions.scoring;
+
+import com.komori.predictions.dto.enumerated.Chip;
+
+import java.util.Collection;
+import java.util.List;
+
+// Chips are held as a bitmask of Chip ordinals so that scoring never walks a list
+public record PredictionPick(int homeScore, int awayScore, List<String> homeScorers, List<String> awayScorers, int chips) {
+    public PredictionPick {
+        homeScorers = (homeScorers == null) ? List.of() : homeScorers;
+        awayScorers = (awayScorers == null) ? List.of() : awayScorers;
+    }
+
+    public static PredictionPick of(int homeScore, int awayScore, List<String> homeScorers, List<String> awayScorers, Collection<Chip> chips) {
+        return new PredictionPick(homeScore, awayScore, homeScorers, awayScorers, chipMask(chips));
+    }
+
+    public static int chipMask(Collection<Chip> chips) {
+        int mask = 0;
+        if (chips != null) {
+            for (Chip chip : chips) {
+                mask |= 1 << chip.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    public boolean has(Chip chip) {
+        return (chips & (1 << chip.ordinal())) != 0;
+    }
+}
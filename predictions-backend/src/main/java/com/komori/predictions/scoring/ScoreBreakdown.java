@@ -0,0 +1,5 @@
+package com.komori.predictions.scoring;
+
+public record ScoreBreakdown(int basePoints, int correctScorers, int scorerPoints, int goalDifferencePenalty,
+                             int multiplier, int cleanSheetBonus, int total, boolean correct) {
+}
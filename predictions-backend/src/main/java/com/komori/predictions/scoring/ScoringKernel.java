@@ -0,0 +1,177 @@
+package com.komori.predictions.scoring;
+
+import com.komori.predictions.dto.enumerated.Chip;
+
+import java.util.List;
+import java.util.Objects;
+
+/*
+ * Scores predictions against a single match result. Actual scorer names are interned to
+ * small int ids once, so each prediction is matched with int arrays rather than maps.
+ * Instances reuse scratch arrays and are not thread-safe; build one per match per thread.
+ */
+public final class ScoringKernel {
+    private final int actualHome;
+    private final int actualAway;
+    private final String[] scorerNames;
+    private final int[] homeCounts;
+    private final int[] awayCounts;
+    private final int[] totalCounts;
+    private final int homeScorers;
+    private final int awayScorers;
+    private final int[] homeScratch;
+    private final int[] awayScratch;
+    private final int[] totalScratch;
+
+    public ScoringKernel(MatchResult result) {
+        this.actualHome = result.homeScore();
+        this.actualAway = result.awayScore();
+        this.homeScorers = result.homeScorers().size();
+        this.awayScorers = result.awayScorers().size();
+
+        String[] names = new String[homeScorers + awayScorers];
+        int[] home = new int[names.length];
+        int[] away = new int[names.length];
+        int distinct = 0;
+        for (String scorer : result.homeScorers()) {
+            int id = indexOf(names, distinct, scorer);
+            if (id < 0) {
+                id = distinct;
+                names[distinct++] = scorer;
+            }
+            home[id]++;
+        }
+        for (String scorer : result.awayScorers()) {
+            int id = indexOf(names, distinct, scorer);
+            if (id < 0) {
+                id = distinct;
+                names[distinct++] = scorer;
+            }
+            away[id]++;
+        }
+
+        this.scorerNames = new String[distinct];
+        System.arraycopy(names, 0, scorerNames, 0, distinct);
+        this.homeCounts = new int[distinct];
+        this.awayCounts = new int[distinct];
+        this.totalCounts = new int[distinct];
+        for (int i = 0; i < distinct; i++) {
+            homeCounts[i] = home[i];
+            awayCounts[i] = away[i];
+            totalCounts[i] = home[i] + away[i];
+        }
+        this.homeScratch = new int[distinct];
+        this.awayScratch = new int[distinct];
+        this.totalScratch = new int[distinct];
+    }
+
+    public ScoreBreakdown score(PredictionPick pick) {
+        int predHome = pick.homeScore();
+        int predAway = pick.awayScore();
+
+        // Base points
+        boolean correctScoreline = (actualHome == predHome) && (actualAway == predAway);
+        boolean correctDraw = (actualHome == actualAway) && (predHome == predAway);
+        boolean correctWinner = Integer.compare(actualHome, actualAway) == Integer.compare(predHome, predAway);
+
+        int basePoints = 0;
+        if (correctScoreline && scorersMatchExactly(pick.homeScorers(), pick.awayScorers())) {
+            basePoints = 15;
+        } else if (correctScoreline) {
+            basePoints = 10;
+        } else if (correctDraw) {
+            basePoints = 7;
+        } else if (correctWinner) {
+            basePoints = 5;
+        }
+
+        // Goalscorer points
+        int correctScorers = countCorrectScorers(pick.homeScorers(), pick.awayScorers());
+        int scorerPoints = (pick.has(Chip.SCORER_FOCUS) ? 4 : 2) * correctScorers;
+
+        // Goal difference penalty
+        int goalDifference = Math.abs((actualHome + actualAway) - (predHome + predAway));
+        int penalty = (goalDifference > 2) ? goalDifference - 2 : 0;
+
+        // Total
+        int multiplier = 1;
+        if (pick.has(Chip.WILDCARD)) {
+            multiplier *= 3;
+        }
+        if (pick.has(Chip.DOUBLE_DOWN)) {
+            multiplier *= 2;
+        }
+        if (pick.has(Chip.ALL_IN_WEEK)) {
+            multiplier *= 2;
+        }
+        int cleanSheetBonus = pick.has(Chip.DEFENSE_PLUS_PLUS) ? 5 * cleanSheetsPredicted(predHome, predAway) : 0;
+
+        int total = (basePoints + scorerPoints - penalty) * multiplier + cleanSheetBonus;
+        return new ScoreBreakdown(basePoints, correctScorers, scorerPoints, penalty, multiplier, cleanSheetBonus, total, correctScoreline);
+    }
+
+    public boolean scorersMatchExactly(List<String> predHomeScorers, List<String> predAwayScorers) {
+        if (predHomeScorers.size() != homeScorers || predAwayScorers.size() != awayScorers) {
+            return false;
+        }
+
+        // Equal sizes, so consuming every predicted name without going negative means equal multisets
+        System.arraycopy(homeCounts, 0, homeScratch, 0, homeCounts.length);
+        System.arraycopy(awayCounts, 0, awayScratch, 0, awayCounts.length);
+        for (int i = 0; i < predHomeScorers.size(); i++) {
+            int id = indexOf(scorerNames, scorerNames.length, predHomeScorers.get(i));
+            if (id < 0 || --homeScratch[id] < 0) {
+                return false;
+            }
+        }
+        for (int i = 0; i < predAwayScorers.size(); i++) {
+            int id = indexOf(scorerNames, scorerNames.length, predAwayScorers.get(i));
+            if (id < 0 || --awayScratch[id] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int countCorrectScorers(List<String> predHomeScorers, List<String> predAwayScorers) {
+        if (scorerNames.length == 0) {
+            return 0;
+        }
+
+        System.arraycopy(totalCounts, 0, totalScratch, 0, totalCounts.length);
+        return consumeScorers(predHomeScorers) + consumeScorers(predAwayScorers);
+    }
+
+    private int consumeScorers(List<String> predScorers) {
+        int count = 0;
+        for (int i = 0; i < predScorers.size(); i++) {
+            int id = indexOf(scorerNames, scorerNames.length, predScorers.get(i));
+            if (id >= 0 && totalScratch[id] > 0) {
+                totalScratch[id]--;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int cleanSheetsPredicted(int predHome, int predAway) {
+        int cleanSheets = 0;
+        if (predHome == 0 && actualHome == 0) {
+            cleanSheets++;
+        }
+        if (predAway == 0 && actualAway == 0) {
+            cleanSheets++;
+        }
+        return cleanSheets;
+    }
+
+    // Goal lists are tiny, so a linear scan beats hashing
+    private static int indexOf(String[] names, int length, String name) {
+        for (int i = 0; i < length; i++) {
+            if (Objects.equals(names[i], name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
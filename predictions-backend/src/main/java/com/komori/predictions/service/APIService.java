@@ -1,42 +1,50 @@
 package com.komori.predictions.service;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.komori.predictions.dto.enumerated.GameStatus;
 import com.komori.predictions.dto.request.GameStatusAndScore;
 import com.komori.predictions.dto.request.HomeAndAwayScorers;
 import com.komori.predictions.dto.response.Fixture;
+import com.komori.predictions.dto.response.Player;
 import com.komori.predictions.dto.response.fpl.FixtureDetails;
 import com.komori.predictions.dto.response.fpl.Squad;
+import com.komori.predictions.dto.squad.SquadPlayer;
 import com.komori.predictions.entity.PlayerEntity;
 import com.komori.predictions.entity.TeamEntity;
+import com.komori.predictions.repository.PlayerBatchRepository;
 import com.komori.predictions.repository.PlayerRepository;
 import com.komori.predictions.repository.TeamRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class APIService {
-    @Value("${app.fixture-list-base-url}")
-    private String fixtureListBaseUrl;
+    private static final int PLAYER_BATCH_SIZE = 200;
     @Value("${app.squad-list-base-url}")
     private String squadListBaseUrl;
     private final RestTemplate restTemplate;
     private final TeamRepository teamRepository;
     private final PlayerRepository playerRepository;
     private final MatchdayService matchdayService;
-    private final RedisTemplate<String, Fixture> redisFixtureTemplate;
+    private final FixtureFeedClient fixtureFeedClient;
+    private final PlayerBatchRepository playerBatchRepository;
+    private final ObjectMapper objectMapper;
+    private final FixtureStore fixtureStore;
+    private final RedisTemplate<String, Player> redisPlayerTemplate;
 
     public void updateFixtures() {
         List<FixtureDetails> response = getFixturesFromAPI();
@@ -53,12 +61,7 @@ public class APIService {
                 .filter(Objects::nonNull)
                 .toList();
 
-        List<Fixture> existingFixtures = redisFixtureTemplate.opsForList().range("fixtures", 0, -1);
-
-        if (!newFixtures.equals(existingFixtures)) {
-            redisFixtureTemplate.delete("fixtures");
-            redisFixtureTemplate.opsForList().rightPushAll("fixtures", newFixtures);
-        }
+        fixtureStore.replaceAll(newFixtures);
     }
 
     public Map<Long, GameStatusAndScore> getGamesStatus() {
@@ -132,19 +135,7 @@ public class APIService {
     }
 
     private List<FixtureDetails> getFixturesFromAPI() {
-        ResponseEntity<List<FixtureDetails>> responseEntity = restTemplate.exchange(
-                fixtureListBaseUrl + matchdayService.getCurrentMatchday(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<>() {}
-        );
-
-        List<FixtureDetails> response = responseEntity.getBody();
-        if (response == null || responseEntity.getStatusCode().isError() || response.isEmpty()) {
-            throw new RuntimeException("Error fetching fixtures from API");
-        }
-
-        return response;
+        return fixtureFeedClient.getFixtures(matchdayService.getCurrentMatchday());
     }
 
     @Transactional
@@ -155,29 +146,122 @@ public class APIService {
 
         log.info("Players not found. Loading them in...");
 
-        ResponseEntity<Squad> responseEntity = restTemplate.exchange(
-                squadListBaseUrl,
-                HttpMethod.GET,
-                null,
-                Squad.class
-        );
+        Map<Integer, TeamEntity> teams = teamRepository.findAll().stream()
+                .collect(Collectors.toMap(TeamEntity::getTeamId, team -> team));
+        List<PlayerEntity> batch = new ArrayList<>(PLAYER_BATCH_SIZE);
+        int[] loaded = {0};
 
-        Squad response = responseEntity.getBody();
-        if (response == null || responseEntity.getStatusCode().isError()) {
-            throw new RuntimeException("Error fetching players from API");
+        streamSquadFromAPI(player -> {
+            if (!isSelectableOutfielder(player)) {
+                return;
+            }
+            TeamEntity team = teams.get(player.getTeam());
+            if (team == null) {
+                log.warn("Skipping player {}: unknown team {}", player.getId(), player.getTeam());
+                return;
+            }
+            batch.add(new PlayerEntity(player, team));
+            if (batch.size() == PLAYER_BATCH_SIZE) {
+                playerBatchRepository.insertAll(batch);
+                loaded[0] += batch.size();
+                batch.clear();
+            }
+        });
+
+        if (!batch.isEmpty()) {
+            playerBatchRepository.insertAll(batch);
+            loaded[0] += batch.size();
         }
+        log.info("Loaded {} players", loaded[0]);
+    }
 
-        List<Squad.Player> players = response.getElements().stream()
-                .filter(player -> (player.getElementType() != 1) && (player.getCanSelect()))
-                .toList();
+    // Brings the players table in line with the feed, touching only the rows and team lists that changed
+    public void syncSquads() {
+        Map<Integer, TeamEntity> teams = teamRepository.findAll().stream()
+                .collect(Collectors.toMap(TeamEntity::getTeamId, team -> team));
+        Map<Long, SquadPlayer> feed = new HashMap<>();
 
-        List<PlayerEntity> playerEntities = players.stream()
-                .map(player -> {
-                    TeamEntity team = teamRepository.findByTeamId(player.getTeam());
-                    return new PlayerEntity(player, team);
-                })
-                .toList();
+        streamSquadFromAPI(player -> {
+            TeamEntity team = teams.get(player.getTeam());
+            if (isSelectableOutfielder(player) && team != null) {
+                feed.put(player.getId(), new SquadPlayer(new PlayerEntity(player, team)));
+            }
+        });
+
+        if (feed.isEmpty()) {
+            throw new RuntimeException("Squad feed returned no players");
+        }
+
+        Map<Long, SquadPlayer> existing = playerBatchRepository.findAllSquadPlayers().stream()
+                .collect(Collectors.toMap(SquadPlayer::playerId, player -> player));
+        List<SquadPlayer> upserts = new ArrayList<>();
+        List<Long> removals = new ArrayList<>();
+        Set<Integer> affectedTeams = new HashSet<>();
 
-        playerRepository.saveAll(playerEntities);
+        for (SquadPlayer player : feed.values()) {
+            SquadPlayer current = existing.get(player.playerId());
+            if (!player.equals(current)) {
+                upserts.add(player);
+                affectedTeams.add(player.teamId());
+                if (current != null) {
+                    affectedTeams.add(current.teamId());
+                }
+            }
+        }
+        for (SquadPlayer current : existing.values()) {
+            if (!feed.containsKey(current.playerId())) {
+                removals.add(current.playerId());
+                affectedTeams.add(current.teamId());
+            }
+        }
+
+        if (upserts.isEmpty() && removals.isEmpty()) {
+            log.info("Squads already up to date");
+            return;
+        }
+
+        playerBatchRepository.applySquadChanges(upserts, removals.toArray(Long[]::new));
+        redisPlayerTemplate.delete(affectedTeams.stream()
+                .map(teamId -> "team:" + teamId + ":players")
+                .toList());
+        fixtureStore.markChanged();
+        log.info("Synced squads: {} players added or updated, {} removed, {} teams refreshed",
+                upserts.size(), removals.size(), affectedTeams.size());
+    }
+
+    private boolean isSelectableOutfielder(Squad.Player player) {
+        return player.getElementType() != 1 && Boolean.TRUE.equals(player.getCanSelect());
+    }
+
+    /*
+     * Walks the squad feed token by token and binds one player at a time, so memory stays flat however
+     * large the bootstrap payload is. Everything other than the "elements" array is skipped.
+     */
+    private void streamSquadFromAPI(Consumer<Squad.Player> consumer) {
+        Boolean found = restTemplate.execute(squadListBaseUrl, HttpMethod.GET, null, response -> {
+            boolean elementsFound = false;
+            try (JsonParser parser = objectMapper.createParser(response.getBody())) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return false;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if ("elements".equals(field) && value == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            consumer.accept(parser.readValueAs(Squad.Player.class));
+                        }
+                        elementsFound = true;
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+            return elementsFound;
+        });
+
+        if (!Boolean.TRUE.equals(found)) {
+            throw new RuntimeException("Error fetching players from API");
+        }
     }
 }
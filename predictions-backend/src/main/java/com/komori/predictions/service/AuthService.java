@@ -13,6 +13,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
@@ -25,6 +26,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
     private final ChipService chipService;
+    private final LeaderboardService leaderboardService;
 
     public void registerNewUser(RegistrationRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -32,6 +34,7 @@ public class AuthService {
         }
         UserEntity newUser = convertToUserEntity(request);
         newUser = userRepository.saveAndFlush(newUser);
+        leaderboardService.addGlobalUser(newUser.getId(), newUser.getTotalPoints());
         chipService.createChipsForNewUser(newUser);
         emailService.sendWelcomeEmail(request.getEmail(), request.getFirstName());
     }
@@ -102,7 +105,11 @@ public class AuthService {
         UserEntity user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Email not found"));
 
+        List<String> leagueUuids = user.getLeagues().stream()
+                .map(membership -> membership.getLeague().getUUID())
+                .toList();
         userRepository.delete(user);
+        leaderboardService.removeUser(user.getId(), leagueUuids);
     }
 
     public void checkVerifiedStatus(String email) {
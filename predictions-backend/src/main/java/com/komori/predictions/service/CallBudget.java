@@ -0,0 +1,34 @@
+package com.komori.predictions.service;
+
+import java.time.Duration;
+
+/*
+ * Token bucket for upstream calls: up to `burst` calls back to back, refilled at `callsPerHour`.
+ * Thread-safe.
+ */
+public final class CallBudget {
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    public CallBudget(int callsPerHour, int burst) {
+        this.capacity = burst;
+        this.tokensPerNano = callsPerHour / (double) Duration.ofHours(1).toNanos();
+        this.tokens = burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    // Takes a call from the budget and returns Duration.ZERO, or returns how long until one is available
+    public synchronized Duration tryAcquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+
+        if (tokens >= 1) {
+            tokens -= 1;
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos((long) Math.ceil((1 - tokens) / tokensPerNano));
+    }
+}
@@ -1,28 +1,36 @@
 package com.komori.predictions.service;
 
-import com.komori.predictions.dto.projection.AccuracyStatsProjection;
+import com.komori.predictions.dto.leaderboard.GlobalRank;
+import com.komori.predictions.dto.leaderboard.LeaderboardEntry;
 import com.komori.predictions.dto.response.DashboardEssentials;
 import com.komori.predictions.dto.response.DashboardLeagueSummary;
 import com.komori.predictions.dto.response.DashboardPredictionSummary;
+import com.komori.predictions.dto.response.LiveStanding;
 import com.komori.predictions.entity.LeagueEntity;
 import com.komori.predictions.entity.UserEntity;
 import com.komori.predictions.entity.UserLeagueEntity;
+import com.komori.predictions.entity.UserStatisticsEntity;
 import com.komori.predictions.repository.PredictionRepository;
 import com.komori.predictions.repository.UserRepository;
+import com.komori.predictions.repository.UserStatisticsRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Set;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
+    private static final int MAX_LIVE_STANDINGS = 100;
     private final UserRepository userRepository;
     private final PredictionRepository predictionRepository;
+    private final UserStatisticsRepository userStatisticsRepository;
     private final MatchdayService matchdayService;
+    private final LeaderboardService leaderboardService;
 
     public DashboardEssentials getDashboardDetails(String email) {
         UserEntity user = userRepository.findByEmail(email)
@@ -48,19 +56,49 @@ public class DashboardService {
                 .toList());
     }
 
+    // Top of the global board with provisional points from matches in play
+    public LiveStanding getLiveGlobalStanding(String email, int limit) {
+        UserEntity user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("Email not found"));
+
+        List<LeaderboardEntry> entries = leaderboardService.getLiveGlobalTop(Math.clamp(limit, 1, MAX_LIVE_STANDINGS));
+        List<Long> userIds = entries.stream().map(LeaderboardEntry::userId).toList();
+        Map<Long, UserEntity> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+        Map<Long, Integer> provisional = leaderboardService.getLivePoints(userIds);
+
+        List<LiveStanding.LiveMember> members = new ArrayList<>(entries.size());
+        for (LeaderboardEntry entry : entries) {
+            UserEntity member = users.get(entry.userId());
+            if (member == null) {
+                continue;
+            }
+            members.add(LiveStanding.LiveMember.builder()
+                    .id(member.getUUID())
+                    .username(member.getUsername())
+                    .displayName(member.getFirstName() + " " + member.getLastName())
+                    .position(entry.position())
+                    .points(entry.points())
+                    .provisionalPoints(provisional.getOrDefault(entry.userId(), 0))
+                    .isCurrentUser(Objects.equals(member.getId(), user.getId()))
+                    .build());
+        }
+        return new LiveStanding(null, members);
+    }
+
     private DashboardLeagueSummary entityToSummary(LeagueEntity league, Long userId) {
-        int rank = userRepository.findUserRankInLeague(userId, league.getId());
+        Integer rank = leaderboardService.getLeagueRank(league, userId);
         return DashboardLeagueSummary.builder()
                 .name(league.getName())
                 .members(league.getUsers().size())
-                .userPosition(rank)
+                .userPosition(rank == null ? 0 : rank)
                 .build();
     }
 
     private DashboardEssentials userEntityToDashboardDetails(UserEntity user) {
-        int globalRank = userRepository.findUserRank(user.getId());
-        int totalUsers = (int) userRepository.count();
-        AccuracyStatsProjection accuracyStatsProjection = predictionRepository.getAccuracyStatsByUserId(user.getId());
+        GlobalRank globalRank = leaderboardService.getGlobalRank(user.getTotalPoints());
+        UserStatisticsEntity statistics = userStatisticsRepository.findById(user.getId())
+                .orElseGet(UserStatisticsEntity::new);
         return DashboardEssentials.builder()
                 .user(new DashboardEssentials.User(
                         user.getUsername(), user.getProfilePictureUrl(), user.getTotalPoints(), predictionRepository.countByUser(user), 0
@@ -71,17 +109,17 @@ public class DashboardService {
                 .stats(new DashboardEssentials.Stats(
                         new DashboardEssentials.Stats.WeeklyPoints(
                                 0,
-                                globalRank,
+                                globalRank.rank(),
                                 0),
                         new DashboardEssentials.Stats.AccuracyRate(
-                                accuracyStatsProjection.getAccuracy(), accuracyStatsProjection.getCorrect()
+                                statistics.getAccuracy(), statistics.getCorrect()
                         ),
                         new DashboardEssentials.Stats.AvailableChips(
                                 0, "No chips available to use"
                         ),
                         new DashboardEssentials.Stats.GlobalRank(
-                                globalRank,
-                                (globalRank * 100.0) / totalUsers
+                                globalRank.rank(),
+                                globalRank.percentile()
                         )
                 ))
                 .build();
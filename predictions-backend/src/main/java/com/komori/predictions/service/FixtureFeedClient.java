@@ -0,0 +1,129 @@
+package com.komori.predictions.service;
+
+import com.komori.predictions.dto.response.fpl.FixtureDetails;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Single entry point for the gameweek fixture feed.
+ * - Responses are kept as a short-lived snapshot per gameweek, so status, scorer and fixture lookups
+ *   made in the same tick share one download.
+ * - Once the snapshot expires the feed is revalidated with If-None-Match / If-Modified-Since; a 304
+ *   simply extends the snapshot.
+ * - Concurrent callers for the same gameweek wait on the request already in flight instead of
+ *   issuing their own.
+ * - Only the newest gameweek is polled repeatedly, so at most that one and the last one fetched are kept.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FixtureFeedClient {
+    @Value("${app.fixture-list-base-url}")
+    private String fixtureListBaseUrl;
+    @Value("${app.fixture-feed.snapshot-ttl:PT20S}")
+    private Duration snapshotTtl;
+    private final RestTemplate restTemplate;
+    private final Map<Integer, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<List<FixtureDetails>>> inFlight = new ConcurrentHashMap<>();
+
+    public List<FixtureDetails> getFixtures(int gameweek) {
+        Snapshot snapshot = snapshots.get(gameweek);
+        if (snapshot != null && snapshot.isFresh(snapshotTtl)) {
+            return snapshot.fixtures();
+        }
+
+        CompletableFuture<List<FixtureDetails>> request = new CompletableFuture<>();
+        CompletableFuture<List<FixtureDetails>> existing = inFlight.putIfAbsent(gameweek, request);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            List<FixtureDetails> fixtures = fetch(gameweek, snapshots.get(gameweek));
+            request.complete(fixtures);
+            return fixtures;
+        } catch (RuntimeException e) {
+            request.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(gameweek, request);
+        }
+    }
+
+    public void evict(int gameweek) {
+        snapshots.remove(gameweek);
+    }
+
+    private List<FixtureDetails> fetch(int gameweek, Snapshot previous) {
+        HttpHeaders headers = new HttpHeaders();
+        if (previous != null) {
+            if (previous.etag() != null) {
+                headers.setIfNoneMatch(previous.etag());
+            }
+            if (previous.lastModified() > 0) {
+                headers.setIfModifiedSince(previous.lastModified());
+            }
+        }
+
+        ResponseEntity<List<FixtureDetails>> responseEntity = restTemplate.exchange(
+                fixtureListBaseUrl + gameweek,
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                new ParameterizedTypeReference<>() {}
+        );
+
+        if (previous != null && responseEntity.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            store(gameweek, previous.refreshed());
+            return previous.fixtures();
+        }
+
+        List<FixtureDetails> response = responseEntity.getBody();
+        if (response == null || responseEntity.getStatusCode().isError() || response.isEmpty()) {
+            throw new RuntimeException("Error fetching fixtures from API");
+        }
+
+        HttpHeaders responseHeaders = responseEntity.getHeaders();
+        List<FixtureDetails> fixtures = List.copyOf(response);
+        store(gameweek, new Snapshot(fixtures, responseHeaders.getETag(), responseHeaders.getLastModified(), System.nanoTime()));
+        return fixtures;
+    }
+
+    private void store(int gameweek, Snapshot snapshot) {
+        snapshots.put(gameweek, snapshot);
+        int newest = snapshots.keySet().stream().max(Integer::compare).orElse(gameweek);
+        snapshots.keySet().removeIf(other -> other != gameweek && other < newest);
+    }
+
+    private List<FixtureDetails> await(CompletableFuture<List<FixtureDetails>> request) {
+        try {
+            return request.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Snapshot(List<FixtureDetails> fixtures, String etag, long lastModified, long fetchedAt) {
+        boolean isFresh(Duration ttl) {
+            return System.nanoTime() - fetchedAt < ttl.toNanos();
+        }
+
+        Snapshot refreshed() {
+            return new Snapshot(fixtures, etag, lastModified, System.nanoTime());
+        }
+    }
+}
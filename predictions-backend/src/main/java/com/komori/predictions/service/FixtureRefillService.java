@@ -0,0 +1,148 @@
+package com.komori.predictions.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Refills the fixture store after it goes missing (Redis flush, failover, cold start) without a stampede.
+ * - Within a node, callers share the refill already in flight.
+ * - Across nodes, only the holder of fixtures:refill-lock calls the upstream API; everyone else waits for the
+ *   store to be populated.
+ * - The upstream call is retried a bounded number of times with exponential backoff. After giving up, refills are
+ *   skipped for a short cooldown and callers fall back to whatever they last served.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FixtureRefillService {
+    private static final String LOCK_KEY = "fixtures:refill-lock";
+    private static final Duration LOCK_TTL = Duration.ofSeconds(30);
+    private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration WAIT_POLL_INTERVAL = Duration.ofMillis(200);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration INITIAL_BACKOFF = Duration.ofMillis(500);
+    private static final Duration FAILURE_COOLDOWN = Duration.ofSeconds(30);
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+    private final APIService apiService;
+    private final FixtureStore fixtureStore;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final AtomicReference<CompletableFuture<Boolean>> inFlight = new AtomicReference<>();
+    private volatile long cooldownUntil = System.nanoTime();
+
+    // Returns whether the store holds fixtures once any refill has finished
+    public boolean ensurePopulated() {
+        if (fixtureStore.isPopulated()) {
+            return true;
+        }
+        if (System.nanoTime() - cooldownUntil < 0) {
+            return false;
+        }
+
+        CompletableFuture<Boolean> refill = new CompletableFuture<>();
+        CompletableFuture<Boolean> existing = inFlight.compareAndExchange(null, refill);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            boolean populated = refill();
+            refill.complete(populated);
+            return populated;
+        } catch (RuntimeException e) {
+            refill.complete(false);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    private boolean refill() {
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, LOCK_TTL))) {
+            log.info("Fixture refill already running on another node, waiting for it");
+            return waitForPopulated();
+        }
+
+        try {
+            return refreshWithRetry();
+        } finally {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(LOCK_KEY), token);
+        }
+    }
+
+    private boolean refreshWithRetry() {
+        Duration backoff = INITIAL_BACKOFF;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            // Another node may have finished a refill just before we took the lock
+            if (fixtureStore.isPopulated()) {
+                return true;
+            }
+
+            try {
+                log.warn("Fixtures not found in redis. Fetching latest fixtures (attempt {}/{})...", attempt, MAX_ATTEMPTS);
+                apiService.updateFixtures();
+                return fixtureStore.isPopulated();
+            } catch (RuntimeException e) {
+                log.warn("Fixture refill attempt {} failed: {}", attempt, e.getMessage());
+            }
+
+            if (attempt < MAX_ATTEMPTS && !sleep(backoff)) {
+                return false;
+            }
+            backoff = backoff.multipliedBy(2);
+        }
+
+        log.error("Giving up on fixture refill after {} attempts", MAX_ATTEMPTS);
+        cooldownUntil = System.nanoTime() + FAILURE_COOLDOWN.toNanos();
+        return false;
+    }
+
+    private boolean waitForPopulated() {
+        long deadline = System.nanoTime() + WAIT_TIMEOUT.toNanos();
+        while (deadline - System.nanoTime() > 0) {
+            if (fixtureStore.isPopulated()) {
+                return true;
+            }
+            if (!sleep(WAIT_POLL_INTERVAL)) {
+                return false;
+            }
+        }
+        return fixtureStore.isPopulated();
+    }
+
+    private boolean await(CompletableFuture<Boolean> refill) {
+        try {
+            return refill.get(WAIT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return fixtureStore.isPopulated();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,33 +1,66 @@
 package com.komori.predictions.service;
 
 import com.komori.predictions.dto.enumerated.GameStatus;
+import com.komori.predictions.dto.fixture.FixtureTransition;
 import com.komori.predictions.dto.request.GameStatusAndScore;
 import com.komori.predictions.dto.request.HomeAndAwayScorers;
 import com.komori.predictions.dto.response.Fixture;
 import com.komori.predictions.entity.MatchEntity;
-import com.komori.predictions.repository.MatchRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.time.*;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
 
+/*
+ * Watches the day's fixtures on the scheduler leader and records each result as it comes in.
+ * A sweep on the leader also catches any result that never got recorded: a fixture in the current gameweek that has
+ * kicked off, isn't being watched and has no match row is checked against the feed, and recorded once it's FINISHED.
+ * Each fixture that fails to record is retried with backoff.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class FixtureSchedulerService {
-    private final RedisTemplate<String, Fixture> redisFixtureTemplate;
+    private static final Duration KICKOFF_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration SWEEP_INTERVAL = Duration.ofMinutes(2);
+    private static final Duration SWEEP_TIMEOUT = Duration.ofMinutes(10);
+    private static final Duration MAX_RECORD_RETRY_DELAY = Duration.ofMinutes(30);
+    private final FixtureStore fixtureStore;
+    private final FixtureRefillService fixtureRefillService;
     private final APIService apiService;
-    private final PredictionService predictionService;
-    private final MatchRepository matchRepository;
+    private final SettlementJobService settlementJobService;
+    private final SettlementWorker settlementWorker;
+    private final MatchCacheService matchCacheService;
     private final ChipService chipService;
     private final MatchdayService matchdayService;
-    private final ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(10);
-    private final Map<Long, ScheduledFuture<?>> activePollers = new ConcurrentHashMap<>();
+    private final LeaguePredictionCacheService leaguePredictionCacheService;
+    private final GameweekStatusPoller gameweekStatusPoller;
+    private final FixtureTaskScheduler fixtureTaskScheduler;
+    private final LeaderElectionService leaderElectionService;
+    private final LiveScoreBroadcaster liveScoreBroadcaster;
+    private final LiveScoringService liveScoringService;
+    private final Map<Long, ScheduledFuture<?>> kickoffTimers = new ConcurrentHashMap<>();
+    private final Map<Long, RecordRetry> recordRetries = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startResultSweep() {
+        fixtureTaskScheduler.schedule("result-sweep", () -> {
+            try {
+                if (leaderElectionService.isLeader()) {
+                    sweepUnrecordedResults();
+                }
+            } finally {
+                startResultSweep();
+            }
+        }, SWEEP_INTERVAL, SWEEP_TIMEOUT);
+    }
 
     public void scheduleFixturesForTheDay() {
         List<Fixture> fixtures = getFixturesForTheDay();
@@ -40,17 +73,24 @@ public class FixtureSchedulerService {
 
                 switch (status.getGameStatus()) {
                     case LIVE:
-                        if (!activePollers.containsKey(fixture.getId())) {
-                            startGoalPolling(fixture);
-                        }
+                        watchFixture(fixture);
                         break;
                     case TIMED:
                         long delayMillis = Duration.between(Instant.now(), fixture.getDate().toInstant()).toMillis();
-                        if (delayMillis > 0 && !activePollers.containsKey(fixture.getId())) {
-                            scheduledExecutorService.schedule(() -> waitForFixtureToStart(fixture), delayMillis, TimeUnit.MILLISECONDS);
+                        if (delayMillis > 0 && !kickoffTimers.containsKey(fixture.getId()) && !gameweekStatusPoller.isSubscribed(fixture.getId())) {
+                            kickoffTimers.put(fixture.getId(), fixtureTaskScheduler.schedule("kickoff-" + fixture.getId(), () -> {
+                                kickoffTimers.remove(fixture.getId());
+                                watchFixture(fixture);
+                            }, Duration.ofMillis(delayMillis), KICKOFF_TIMEOUT));
                             log.info("Scheduled {} vs {} at {}.", fixture.getHomeTeam(), fixture.getAwayTeam(), fixture.getDate());
                         }
                         break;
+                    case FINISHED:
+                        // Finished while no leader was watching it, e.g. across a restart or failover
+                        if (leaderElectionService.isLeader() && !settlementJobService.hasResult(fixture.getId())) {
+                            recordMissedResult(fixture, status);
+                        }
+                        break;
                     default:
                         break;
                 }
@@ -58,111 +98,137 @@ public class FixtureSchedulerService {
         }
     }
 
-    private List<Fixture> getFixturesForTheDay() {
-        List<Fixture> fixtures = redisFixtureTemplate.opsForList().range("fixtures", 0, -1);
-        while (fixtures == null) {
-            log.warn("Fixtures list not found in redis. Fetching latest fixtures...");
-            apiService.updateFixtures();
-            fixtures = redisFixtureTemplate.opsForList().range("fixtures", 0, -1);
+    // Only goes to the feed when some fixture is actually missing its result
+    private void sweepUnrecordedResults() {
+        Instant now = Instant.now();
+        List<Fixture> unrecorded = fixtureStore.getFixtures().stream()
+                .filter(fixture -> fixture.getDate().toInstant().isBefore(now))
+                .filter(fixture -> !gameweekStatusPoller.isSubscribed(fixture.getId()))
+                .filter(fixture -> !settlementJobService.hasResult(fixture.getId()))
+                .toList();
+        recordRetries.keySet().retainAll(unrecorded.stream().map(Fixture::getId).toList());
+        if (unrecorded.isEmpty()) {
+            return;
         }
 
-        ZoneId zoneId = ZoneId.of("UTC");
-        LocalDate today = LocalDate.now(zoneId);
-
-        return fixtures.stream()
-                .filter(fixture -> fixture.getDate().atZoneSameInstant(zoneId).toLocalDate().isEqual(today))
-                .toList();
+        Map<Long, GameStatusAndScore> statusMap = apiService.getGamesStatus();
+        for (Fixture fixture : unrecorded) {
+            GameStatusAndScore status = statusMap.get(fixture.getId());
+            if (status != null && status.getGameStatus() == GameStatus.FINISHED) {
+                recordMissedResult(fixture, status);
+            }
+        }
     }
 
-    private void waitForFixtureToStart(Fixture fixture) {
-        if (activePollers.containsKey(fixture.getId())) return;
+    private void recordMissedResult(Fixture fixture, GameStatusAndScore status) {
+        RecordRetry retry = recordRetries.get(fixture.getId());
+        Instant attemptedAt = Instant.now();
+        if (retry != null && retry.nextAttemptAt().isAfter(attemptedAt)) {
+            return;
+        }
 
-        ScheduledFuture<?> watcher = scheduledExecutorService.scheduleAtFixedRate(() -> {
-            Map<Long, GameStatusAndScore> statusMap = apiService.getGamesStatus();
-            if (statusMap.get(fixture.getId()).getGameStatus() == GameStatus.LIVE) {
-                log.info("{} vs {} is now live!", fixture.getHomeTeam(), fixture.getAwayTeam());
+        log.info("Recording missed result for {} vs {}", fixture.getHomeTeam(), fixture.getAwayTeam());
+        try {
+            recordResult(fixture, status);
+            recordRetries.remove(fixture.getId());
+        } catch (Exception e) {
+            int attempts = retry == null ? 1 : retry.attempts() + 1;
+            Duration delay = SWEEP_INTERVAL.multipliedBy(1L << Math.min(attempts - 1, 10));
+            delay = delay.compareTo(MAX_RECORD_RETRY_DELAY) > 0 ? MAX_RECORD_RETRY_DELAY : delay;
+            // Counted from the start of the attempt, so the sweep that comes round one delay later finds it due
+            recordRetries.put(fixture.getId(), new RecordRetry(attempts, attemptedAt.plus(delay)));
+            log.error("Failed to record result for fixture {} (attempt {}), retrying in {}s", fixture.getId(), attempts, delay.toSeconds(), e);
+        }
+    }
 
-                ScheduledFuture<?> future = activePollers.remove(fixture.getId());
-                if (future != null) {
-                    future.cancel(false);
-                }
+    // Called when this node stops being the leader; whoever takes over schedules the day again
+    public void stopWatching() {
+        kickoffTimers.values().forEach(timer -> timer.cancel(false));
+        kickoffTimers.clear();
+        gameweekStatusPoller.unsubscribeAll();
+    }
 
-                startGoalPolling(fixture);
-            }
-        }, 0, 2, TimeUnit.MINUTES);
+    private List<Fixture> getFixturesForTheDay() {
+        if (!fixtureRefillService.ensurePopulated()) {
+            log.error("Fixtures unavailable, nothing scheduled");
+            return new ArrayList<>();
+        }
 
-        activePollers.put(fixture.getId(), watcher);
+        Instant startOfDay = LocalDate.now(ZoneOffset.UTC).atStartOfDay().toInstant(ZoneOffset.UTC);
+        return fixtureStore.getFixturesKickingOffBetween(startOfDay, startOfDay.plus(Duration.ofDays(1)));
     }
 
-    private void startGoalPolling(Fixture fixture) {
-        if (activePollers.containsKey(fixture.getId())) {
-            log.info("Polling already started for {} vs {}", fixture.getHomeTeam(), fixture.getAwayTeam());
+    private void watchFixture(Fixture fixture) {
+        if (!leaderElectionService.isLeader()) {
+            log.info("Not the scheduler leader, leaving {} vs {} to the leader", fixture.getHomeTeam(), fixture.getAwayTeam());
+            return;
+        }
+        if (gameweekStatusPoller.isSubscribed(fixture.getId())) {
+            log.info("Already watching {} vs {}", fixture.getHomeTeam(), fixture.getAwayTeam());
             return;
         }
 
-        log.info("Starting goal polling for fixture {} vs {}", fixture.getHomeTeam(), fixture.getAwayTeam());
-
-        ScheduledFuture<?> pollingTask = scheduledExecutorService.scheduleAtFixedRate(() -> {
-            GameStatusAndScore gameStatusAndScore = apiService.getGamesStatus().get(fixture.getId());
-
-            if (gameStatusAndScore.getGameStatus() == GameStatus.FINISHED) {
-                // Retrieve goalscorers
-                log.info("Retrieving goalscorers...");
-                HomeAndAwayScorers scorers = apiService.getGoalScorers(fixture.getId());
+        log.info("Watching {} vs {} for status changes", fixture.getHomeTeam(), fixture.getAwayTeam());
+        gameweekStatusPoller.subscribe(fixture.getId(), fixture.getDate().toInstant(), transition -> onTransition(fixture, transition));
+    }
 
-                // Update Redis cache
+    private void onTransition(Fixture fixture, FixtureTransition transition) {
+        GameStatusAndScore gameStatusAndScore = transition.current();
+        switch (transition.type()) {
+            case KICKOFF -> {
+                log.info("{} vs {} is now live!", fixture.getHomeTeam(), fixture.getAwayTeam());
+                // Predictions for this fixture are locked from kickoff
+                leaguePredictionCacheService.invalidateGameweek(fixture.getGameweek());
                 updateFixtureInRedis(fixture, gameStatusAndScore);
+                rescoreLive(fixture, gameStatusAndScore);
+            }
+            case SCORE_CHANGE -> {
+                updateFixtureInRedis(fixture, gameStatusAndScore);
+                rescoreLive(fixture, gameStatusAndScore);
+            }
+            case FINISHED -> {
+                recordResult(fixture, gameStatusAndScore);
+                log.info("Stopped watching fixture {}", fixture.getId());
+                gameweekStatusPoller.unsubscribe(fixture.getId());
+            }
+        }
+    }
 
-                // Save match to DB
-                MatchEntity matchEntity = saveMatchToDB(fixture, gameStatusAndScore, scorers);
-
-                // Update user scores and shii
-                log.info("Updating database...");
-                try {
-                    predictionService.updateDatabaseAfterGame(matchEntity);
-                } catch (Exception e) {
-                    log.error("Error in updating database", e);
-                }
+    // Settlement itself happens on the settlement worker, so this only has to get the result durably recorded
+    private void recordResult(Fixture fixture, GameStatusAndScore gameStatusAndScore) {
+        // Retrieve goalscorers
+        log.info("Retrieving goalscorers...");
+        HomeAndAwayScorers scorers = apiService.getGoalScorers(fixture.getId());
 
-                // Increment current Matchday if appropriate
-                incrementMatchdayIfLastFixture(fixture);
+        // Update Redis cache
+        updateFixtureInRedis(fixture, gameStatusAndScore);
 
-                // End the scheduler
-                log.info("Ending scheduler for fixture {}", fixture.getId());
+        // Save match to DB along with its settlement job
+        saveMatchToDB(fixture, gameStatusAndScore, scorers);
+        settlementWorker.wake();
 
-                ScheduledFuture<?> future = activePollers.remove(fixture.getId());
-                if (future != null) {
-                    future.cancel(false);
-                }
-            }
-            else if (gameStatusAndScore.getGameStatus() == GameStatus.LIVE) {
-                updateFixtureInRedis(fixture, gameStatusAndScore);
-            }
-        }, 0, 5, TimeUnit.MINUTES);
+        // Increment current Matchday if appropriate
+        incrementMatchdayIfLastFixture(fixture);
+    }
 
-        activePollers.put(fixture.getId(), pollingTask);
+    // Provisional points are a nice-to-have; a failure here mustn't stop the fixture being tracked
+    private void rescoreLive(Fixture fixture, GameStatusAndScore gameStatusAndScore) {
+        try {
+            HomeAndAwayScorers scorers = apiService.getGoalScorers(fixture.getId());
+            liveScoringService.rescore(fixture.getId(), gameStatusAndScore, scorers);
+        } catch (Exception e) {
+            log.warn("Failed to update provisional points for fixture {}: {}", fixture.getId(), e.getMessage());
+        }
     }
 
     private void updateFixtureInRedis(Fixture fixture, GameStatusAndScore gameStatusAndScore) {
-        List<Fixture> fixtures = redisFixtureTemplate.opsForList().range("fixtures", 0, -1);
-        if (fixtures == null) {
-            log.warn("Fixtures list not found in redis. Fetching latest fixtures...");
-            apiService.updateFixtures();
-            return;
+        // A refill pulls the latest scores from upstream, so there is nothing left to update afterwards
+        if (!fixtureStore.isPopulated()) {
+            fixtureRefillService.ensurePopulated();
+        } else {
+            fixtureStore.updateStatus(fixture.getId(), gameStatusAndScore);
         }
-
-        Fixture stored = fixtures.stream()
-                .filter(f -> f.getId().equals(fixture.getId()))
-                .findFirst()
-                .orElse(fixture);
-
-        stored.setHomeScore(gameStatusAndScore.getHomeScore());
-        stored.setAwayScore(gameStatusAndScore.getAwayScore());
-        stored.setStatus(gameStatusAndScore.getGameStatus());
-
-        // Update only this fixture
-        redisFixtureTemplate.opsForList().remove("fixtures", 1, stored);
-        redisFixtureTemplate.opsForList().rightPush("fixtures", stored);
+        liveScoreBroadcaster.publish(fixture.getId(), gameStatusAndScore);
     }
 
     private MatchEntity saveMatchToDB(Fixture fixture, GameStatusAndScore gameStatusAndScore, HomeAndAwayScorers scorers) {
@@ -178,15 +244,16 @@ public class FixtureSchedulerService {
                 .awayScorers(scorers.awayScorers())
                 .venue(fixture.getVenue())
                 .build();
-        return matchRepository.saveAndFlush(matchEntity);
+        matchEntity = settlementJobService.recordResult(matchEntity);
+        matchCacheService.put(matchEntity);
+        return matchEntity;
     }
 
     private void incrementMatchdayIfLastFixture(Fixture fixture) {
         log.info("Checking current Matchday incrementing...");
-        List<Fixture> fixtures = redisFixtureTemplate.opsForList().range("fixtures", 0, -1);
-        if (fixtures == null) {
-            log.warn("Fixtures list not found in redis. Fetching latest fixtures...");
-            apiService.updateFixtures();
+        List<Fixture> fixtures = fixtureStore.getFixtures();
+        if (fixtures.isEmpty()) {
+            fixtureRefillService.ensurePopulated();
             return;
         }
 
@@ -194,11 +261,15 @@ public class FixtureSchedulerService {
                 .noneMatch(f -> f.getDate().isAfter(fixture.getDate())
                         // tie-breaker by ID
                         || ((f.getDate().isEqual(fixture.getDate())) && f.getId() > fixture.getId()));
-        if (isLastFixture) {
-            int newMatchday = matchdayService.getCurrentMatchday() + 1;
+        // Results can be recorded more than once, so only the first time moves the matchday on
+        if (isLastFixture && matchdayService.getCurrentMatchday() == fixture.getGameweek()) {
+            int newMatchday = fixture.getGameweek() + 1;
             matchdayService.setCurrentMatchday(newMatchday);
             chipService.updateAllGameweekCooldowns();
             apiService.updateFixtures();
         }
     }
-}
\ No newline at end of file
+
+    private record RecordRetry(int attempts, Instant nextAttemptAt) {
+    }
+}
@@ -5,60 +5,103 @@ import com.komori.predictions.dto.response.Player;
 import com.komori.predictions.repository.PlayerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class FixtureService {
     private final RedisTemplate<String, Player> redisPlayerTemplate;
-    private final RedisTemplate<String, Fixture> redisFixtureTemplate;
+    private final FixtureStore fixtureStore;
     private final PlayerRepository playerRepository;
-    private final APIService apiService;
+    private final FixtureRefillService fixtureRefillService;
 
     public List<Fixture> getFixtures() {
-        List<Fixture> fixtures = redisFixtureTemplate.opsForList().range("fixtures", 0, -1);
-        if (fixtures == null || fixtures.isEmpty()) {
-            apiService.updateFixtures();
-            fixtures = redisFixtureTemplate.opsForList().range("fixtures", 0, -1);
+        List<Fixture> fixtures = fixtureStore.getFixtures();
+        if (fixtures.isEmpty() && fixtureRefillService.ensurePopulated()) {
+            fixtures = fixtureStore.getFixtures();
         }
 
-        if (fixtures == null || fixtures.isEmpty()) {
-            log.error("Fixtures not available in redis after API refresh");
+        if (fixtures.isEmpty()) {
+            log.error("Fixtures not available in redis after refill");
             return new ArrayList<>();
         }
 
+        Set<Integer> teamIds = new LinkedHashSet<>();
         fixtures.forEach(fixture -> {
-            List<Player> homePlayers = getPlayersForTeam(fixture.getHomeId());
-            List<Player> awayPlayers = getPlayersForTeam(fixture.getAwayId());
-            fixture.setHomePlayers(homePlayers);
-            fixture.setAwayPlayers(awayPlayers);
+            teamIds.add(fixture.getHomeId());
+            teamIds.add(fixture.getAwayId());
+        });
+        Map<Integer, List<Player>> players = getPlayersForTeams(teamIds);
+
+        fixtures.forEach(fixture -> {
+            fixture.setHomePlayers(players.getOrDefault(fixture.getHomeId(), new ArrayList<>()));
+            fixture.setAwayPlayers(players.getOrDefault(fixture.getAwayId(), new ArrayList<>()));
         });
 
         return fixtures;
     }
 
-    private List<Player> getPlayersForTeam(Integer teamId) {
-        String key = "team:" + teamId + ":players";
-        List<Player> players = redisPlayerTemplate.opsForList().range(key, 0, -1);
-
-        if (players == null || players.isEmpty()) {
-            players = playerRepository.findAllByTeam_TeamId(teamId)
-                    .stream()
-                    .map(Player::new)
-                    .toList();
+    // One pipelined read for every team in the gameweek; misses are loaded in a single query and cached in one pipeline
+    @SuppressWarnings("unchecked")
+    private Map<Integer, List<Player>> getPlayersForTeams(Set<Integer> teamIds) {
+        List<Integer> ids = List.copyOf(teamIds);
+        List<Object> cached = redisPlayerTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Player> playerOperations = (RedisOperations<String, Player>) operations;
+                for (Integer teamId : ids) {
+                    playerOperations.opsForList().range(playersKey(teamId), 0, -1);
+                }
+                return null;
+            }
+        });
 
-            if (!players.isEmpty()) {
-                redisPlayerTemplate.opsForList().rightPushAll(key, players);
-                redisPlayerTemplate.expire(key, Duration.ofDays(7));
+        Map<Integer, List<Player>> players = new HashMap<>();
+        List<Integer> misses = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            List<Player> teamPlayers = (List<Player>) cached.get(i);
+            if (teamPlayers == null || teamPlayers.isEmpty()) {
+                misses.add(ids.get(i));
+            } else {
+                players.put(ids.get(i), teamPlayers);
             }
         }
 
+        if (misses.isEmpty()) {
+            return players;
+        }
+
+        Map<Integer, List<Player>> loaded = playerRepository.findAllByTeam_TeamIdIn(misses).stream()
+                .collect(Collectors.groupingBy(entity -> entity.getTeam().getTeamId(),
+                        Collectors.mapping(Player::new, Collectors.toList())));
+        players.putAll(loaded);
+
+        if (!loaded.isEmpty()) {
+            redisPlayerTemplate.executePipelined(new SessionCallback<>() {
+                @Override
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Player> playerOperations = (RedisOperations<String, Player>) operations;
+                    loaded.forEach((teamId, teamPlayers) -> {
+                        playerOperations.opsForList().rightPushAll(playersKey(teamId), teamPlayers);
+                        playerOperations.expire(playersKey(teamId), Duration.ofDays(7));
+                    });
+                    return null;
+                }
+            });
+        }
+
         return players;
     }
+
+    private String playersKey(Integer teamId) {
+        return "team:" + teamId + ":players";
+    }
 }
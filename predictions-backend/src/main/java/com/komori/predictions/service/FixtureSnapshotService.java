@@ -0,0 +1,93 @@
+package com.komori.predictions.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.komori.predictions.dto.fixture.FixtureSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * /fixtures is the same for every caller between changes, so it is serialized and gzipped once per fixture
+ * store revision. Serving a request costs a single Redis MGET to check the revision.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FixtureSnapshotService {
+    private final FixtureService fixtureService;
+    private final FixtureStore fixtureStore;
+    private final FixtureRefillService fixtureRefillService;
+    private final ObjectMapper objectMapper;
+    private volatile FixtureSnapshot snapshot;
+
+    public FixtureSnapshot getSnapshot() {
+        String revision = fixtureStore.getRevision();
+        if (FixtureStore.EMPTY_REVISION.equals(revision)) {
+            // Keep serving the last good snapshot while the store can't be refilled
+            if (!fixtureRefillService.ensurePopulated() && snapshot != null) {
+                return snapshot;
+            }
+            revision = fixtureStore.getRevision();
+        }
+
+        FixtureSnapshot current = snapshot;
+        if (current != null && current.revision().equals(revision)) {
+            return current;
+        }
+        return rebuild(revision);
+    }
+
+    private synchronized FixtureSnapshot rebuild(String revision) {
+        FixtureSnapshot current = snapshot;
+        if (current != null && current.revision().equals(revision)) {
+            return current;
+        }
+
+        // Tagged with the revision read before building, so a change made mid-build triggers another rebuild
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(fixtureService.getFixtures());
+        } catch (JsonProcessingException | RuntimeException e) {
+            if (current != null) {
+                log.error("Failed to rebuild fixtures snapshot, serving revision {}", current.revision(), e);
+                return current;
+            }
+            throw new RuntimeException("Failed to build fixtures snapshot", e);
+        }
+
+        // Each encoding is a separate representation, so each gets its own strong validator
+        String hash = hash(json);
+        FixtureSnapshot rebuilt = new FixtureSnapshot(revision, json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+        snapshot = rebuilt;
+        log.info("Rebuilt fixtures snapshot for revision {} ({} bytes, {} gzipped)", revision, json.length, rebuilt.gzip().length);
+        return rebuilt;
+    }
+
+    private byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.komori.predictions.service;
+
+import com.komori.predictions.dto.request.GameStatusAndScore;
+import com.komori.predictions.dto.response.Fixture;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * Fixtures are stored per version:
+ * - fixtures:{version}:data     hash of fixture id -> fixture
+ * - fixtures:{version}:kickoff  zset of fixture ids scored by kickoff (epoch seconds)
+ * - fixtures:current            the version readers should use
+ * - fixtures:revision           bumped on every change to what /fixtures returns, including squad changes
+ * A new gameweek is written under a fresh version and published by flipping the pointer, so readers always
+ * see a complete set. The previous version is kept for a short grace period before it expires.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FixtureStore {
+    private static final String CURRENT_KEY = "fixtures:current";
+    private static final String VERSION_SEQUENCE_KEY = "fixtures:version";
+    private static final String REVISION_KEY = "fixtures:revision";
+    public static final String EMPTY_REVISION = "empty";
+    private static final Duration PREVIOUS_VERSION_GRACE = Duration.ofMinutes(1);
+    // Resolves the current version and reads its fixtures in kickoff order in one atomic step
+    private static final String READ_SCRIPT = """
+            local version = redis.call('GET', KEYS[1])
+            if not version then return {} end
+            local ids = redis.call('ZRANGEBYSCORE', 'fixtures:' .. version .. ':kickoff', ARGV[1], ARGV[2])
+            if #ids == 0 then return {} end
+            return redis.call('HMGET', 'fixtures:' .. version .. ':data', unpack(ids))
+            """;
+    private final RedisTemplate<String, Fixture> redisFixtureTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> readScript = new DefaultRedisScript<>(READ_SCRIPT, List.class);
+
+    public List<Fixture> getFixtures() {
+        return read("-inf", "+inf");
+    }
+
+    public List<Fixture> getFixturesKickingOffBetween(Instant from, Instant to) {
+        return read(String.valueOf(from.getEpochSecond()), "(" + to.getEpochSecond());
+    }
+
+    // Identifies what /fixtures would currently return; the published version is included so a flushed store never
+    // matches a token taken before the flush
+    public String getRevision() {
+        List<String> values = stringRedisTemplate.opsForValue().multiGet(List.of(CURRENT_KEY, REVISION_KEY));
+        if (values == null || values.get(0) == null) {
+            return EMPTY_REVISION;
+        }
+        return values.get(0) + ":" + values.get(1);
+    }
+
+    public void markChanged() {
+        stringRedisTemplate.opsForValue().increment(REVISION_KEY);
+    }
+
+    public boolean isPopulated() {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(CURRENT_KEY));
+    }
+
+    public Optional<Fixture> getFixture(long fixtureId) {
+        String version = stringRedisTemplate.opsForValue().get(CURRENT_KEY);
+        if (version == null) {
+            return Optional.empty();
+        }
+        Object fixture = redisFixtureTemplate.opsForHash().get(dataKey(version), String.valueOf(fixtureId));
+        return Optional.ofNullable((Fixture) fixture);
+    }
+
+    // Publishes a whole new set of fixtures; an empty set is ignored so readers never lose the last good one
+    public void replaceAll(List<Fixture> fixtures) {
+        if (fixtures.isEmpty()) {
+            log.warn("Refusing to replace stored fixtures with an empty set");
+            return;
+        }
+
+        String version = String.valueOf(stringRedisTemplate.opsForValue().increment(VERSION_SEQUENCE_KEY));
+        Map<String, Fixture> data = fixtures.stream()
+                .collect(Collectors.toMap(fixture -> String.valueOf(fixture.getId()), Function.identity(), (a, b) -> b));
+        redisFixtureTemplate.opsForHash().putAll(dataKey(version), data);
+        Set<ZSetOperations.TypedTuple<String>> kickoffs = fixtures.stream()
+                .map(fixture -> ZSetOperations.TypedTuple.of(String.valueOf(fixture.getId()), (double) fixture.getDate().toEpochSecond()))
+                .collect(Collectors.toSet());
+        stringRedisTemplate.opsForZSet().add(kickoffKey(version), kickoffs);
+
+        String previous = stringRedisTemplate.opsForValue().getAndSet(CURRENT_KEY, version);
+        if (previous != null) {
+            stringRedisTemplate.expire(dataKey(previous), PREVIOUS_VERSION_GRACE);
+            stringRedisTemplate.expire(kickoffKey(previous), PREVIOUS_VERSION_GRACE);
+        }
+        markChanged();
+        log.info("Published {} fixtures as version {}", data.size(), version);
+    }
+
+    // Rewrites a single fixture in place; a concurrent replaceAll wins, as it comes from a newer feed read
+    public void updateStatus(long fixtureId, GameStatusAndScore status) {
+        String version = stringRedisTemplate.opsForValue().get(CURRENT_KEY);
+        if (version == null) {
+            return;
+        }
+
+        String field = String.valueOf(fixtureId);
+        Fixture stored = (Fixture) redisFixtureTemplate.opsForHash().get(dataKey(version), field);
+        if (stored == null) {
+            log.warn("Fixture {} not found in stored fixtures", fixtureId);
+            return;
+        }
+
+        stored.setHomeScore(status.getHomeScore());
+        stored.setAwayScore(status.getAwayScore());
+        stored.setStatus(status.getGameStatus());
+        redisFixtureTemplate.opsForHash().put(dataKey(version), field, stored);
+        markChanged();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<Fixture> read(String min, String max) {
+        // List replies are deserialized element by element, so each entry comes back as a Fixture
+        RedisSerializer fixtureSerializer = redisFixtureTemplate.getHashValueSerializer();
+        List<Fixture> fixtures = redisFixtureTemplate.execute(readScript, redisFixtureTemplate.getStringSerializer(),
+                fixtureSerializer, List.of(CURRENT_KEY), min, max);
+        if (fixtures == null) {
+            return new ArrayList<>();
+        }
+
+        List<Fixture> result = new ArrayList<>(fixtures);
+        result.removeIf(Objects::isNull);
+        return result;
+    }
+
+    private String dataKey(String version) {
+        return "fixtures:" + version + ":data";
+    }
+
+    private String kickoffKey(String version) {
+        return "fixtures:" + version + ":kickoff";
+    }
+}
@@ -0,0 +1,121 @@
+package com.komori.predictions.service;
+
+import com.komori.predictions.dto.fixture.TaskSchedulerStats;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Timing for fixture watchers and pollers.
+ * - A single platform thread only keeps time: it fires triggers and watchdogs and never runs work itself.
+ * - Each piece of work runs on its own virtual thread, so a slow API call or a long settlement for one fixture
+ *   can't hold up anything else.
+ * - Every task has a timeout, after which it is interrupted.
+ * - Lag is measured from when a task should have started to when it actually did.
+ * - Once a minute the timer logs the window's worst lag and timeouts and starts a new window, so one slow tick
+ *   shows up once instead of for the life of the process.
+ */
+@Slf4j
+@Service
+public class FixtureTaskScheduler {
+    private static final Duration LAG_WARNING_THRESHOLD = Duration.ofSeconds(1);
+    private static final Duration STATS_WINDOW = Duration.ofMinutes(1);
+    private final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1,
+            Thread.ofPlatform().name("fixture-timer").daemon().factory());
+    private final ExecutorService workers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("fixture-task-", 0).factory());
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong lastLagNanos = new AtomicLong();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    public FixtureTaskScheduler() {
+        timer.setRemoveOnCancelPolicy(true);
+        timer.scheduleAtFixedRate(this::reportStats, STATS_WINDOW.toMillis(), STATS_WINDOW.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public ScheduledFuture<?> schedule(String name, Runnable task, Duration delay, Duration timeout) {
+        long dueAt = System.nanoTime() + delay.toNanos();
+        return timer.schedule(() -> submit(name, task, timeout, dueAt), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public Future<?> dispatch(String name, Runnable task, Duration timeout) {
+        return submit(name, task, timeout, System.nanoTime());
+    }
+
+    // Lag and timeouts since the last report
+    public TaskSchedulerStats getStats() {
+        return new TaskSchedulerStats(
+                running.get(),
+                TimeUnit.NANOSECONDS.toMillis(lastLagNanos.get()),
+                TimeUnit.NANOSECONDS.toMillis(maxLagNanos.get()),
+                timedOut.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private Future<?> submit(String name, Runnable task, Duration timeout, long dueAt) {
+        AtomicReference<ScheduledFuture<?>> watchdog = new AtomicReference<>();
+        FutureTask<Void> future = new FutureTask<>(() -> {
+            recordLag(name, System.nanoTime() - dueAt);
+            running.incrementAndGet();
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("Fixture task {} failed", name, e);
+            } finally {
+                running.decrementAndGet();
+            }
+        }, null) {
+            @Override
+            protected void done() {
+                ScheduledFuture<?> pending = watchdog.get();
+                if (pending != null) {
+                    pending.cancel(false);
+                }
+            }
+        };
+
+        // Armed before the task starts, so a task that finishes instantly still cancels its watchdog
+        watchdog.set(timer.schedule(() -> {
+            if (future.cancel(true)) {
+                timedOut.incrementAndGet();
+                log.error("Fixture task {} timed out after {}s and was interrupted", name, timeout.toSeconds());
+            }
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS));
+        workers.execute(future);
+        return future;
+    }
+
+    private void reportStats() {
+        TaskSchedulerStats stats = new TaskSchedulerStats(
+                running.get(),
+                TimeUnit.NANOSECONDS.toMillis(lastLagNanos.get()),
+                TimeUnit.NANOSECONDS.toMillis(maxLagNanos.getAndSet(0)),
+                timedOut.getAndSet(0));
+        if (stats.maxLagMillis() > LAG_WARNING_THRESHOLD.toMillis() || stats.timedOut() > 0) {
+            log.warn("Fixture tasks over the last {}s: {}", STATS_WINDOW.toSeconds(), stats);
+        } else {
+            log.info("Fixture tasks over the last {}s: {}", STATS_WINDOW.toSeconds(), stats);
+        }
+    }
+
+    private void recordLag(String name, long lagNanos) {
+        long lag = Math.max(lagNanos, 0);
+        lastLagNanos.set(lag);
+        maxLagNanos.accumulateAndGet(lag, Math::max);
+        if (lag > LAG_WARNING_THRESHOLD.toNanos()) {
+            log.warn("Fixture task {} started {}ms late ({})", name, TimeUnit.NANOSECONDS.toMillis(lag), getStats());
+        }
+    }
+}
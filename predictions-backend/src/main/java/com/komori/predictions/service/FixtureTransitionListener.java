@@ -0,0 +1,8 @@
+package com.komori.predictions.service;
+
+import com.komori.predictions.dto.fixture.FixtureTransition;
+
+@FunctionalInterface
+public interface FixtureTransitionListener {
+    void onTransition(FixtureTransition transition);
+}
@@ -0,0 +1,218 @@
+package com.komori.predictions.service;
+
+import com.komori.predictions.dto.enumerated.GameStatus;
+import com.komori.predictions.dto.fixture.FixtureTransition;
+import com.komori.predictions.dto.request.GameStatusAndScore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+/*
+ * Polls the gameweek feed once per tick for every subscribed fixture, diffs each fixture against
+ * the last status its subscriber saw and hands out KICKOFF, SCORE_CHANGE and FINISHED transitions.
+ * Upstream calls stay at one per tick however many fixtures are being watched, and the poller only
+ * runs while something is subscribed. Each listener runs on its own task, so one fixture's slow
+ * settlement never holds up the tick or another fixture; a fixture whose previous transition is still
+ * being handled is left out of the diff until it finishes, which keeps its transitions in order.
+ * A fixture only moves on to a new status once its listener has handled the transition, so one that fails or
+ * times out is handed out again on the next tick. After a few failed attempts the transition is given up on;
+ * for FINISHED that means the fixture is dropped, and FixtureSchedulerService's result sweep takes it from there.
+ * The next tick is due when the most urgent fixture wants it (see PollCadence), backs off on upstream
+ * errors, and is held back when the hourly call budget runs out.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GameweekStatusPoller {
+    private static final Duration TICK_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration LISTENER_TIMEOUT = Duration.ofMinutes(10);
+    private static final int MAX_TRANSITION_ATTEMPTS = 5;
+    private static final Duration ERROR_BACKOFF = Duration.ofMinutes(1);
+    private static final Duration MAX_ERROR_BACKOFF = Duration.ofMinutes(10);
+    private static final int HOURLY_CALL_BUDGET = 60;
+    private static final int CALL_BURST = 30;
+    private final APIService apiService;
+    private final FixtureTaskScheduler fixtureTaskScheduler;
+    private final Map<Long, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final CallBudget callBudget = new CallBudget(HOURLY_CALL_BUDGET, CALL_BURST);
+    private volatile Map<Long, GameStatusAndScore> snapshot = Map.of();
+    private ScheduledFuture<?> tickTask;
+    // Identifies the current chain of ticks, so a tick from a stopped chain doesn't reschedule itself
+    private long chain;
+    private int consecutiveFailures;
+
+    public synchronized void subscribe(long fixtureId, Instant kickoff, FixtureTransitionListener listener) {
+        subscriptions.put(fixtureId, new Subscription(kickoff, listener));
+        if (tickTask == null) {
+            chain++;
+            scheduleTick(chain, Duration.ZERO);
+            log.info("Started gameweek status poller");
+        }
+    }
+
+    public synchronized void unsubscribe(long fixtureId) {
+        subscriptions.remove(fixtureId);
+        if (subscriptions.isEmpty()) {
+            stop();
+        }
+    }
+
+    public synchronized void unsubscribeAll() {
+        subscriptions.clear();
+        stop();
+    }
+
+    public boolean isSubscribed(long fixtureId) {
+        return subscriptions.containsKey(fixtureId);
+    }
+
+    public Map<Long, GameStatusAndScore> getSnapshot() {
+        return snapshot;
+    }
+
+    private void stop() {
+        if (tickTask != null) {
+            tickTask.cancel(false);
+            tickTask = null;
+            chain++;
+            log.info("Stopped gameweek status poller, no fixtures left to watch");
+        }
+    }
+
+    private synchronized void scheduleTick(long tickChain, Duration delay) {
+        if (tickChain != chain || subscriptions.isEmpty()) {
+            return;
+        }
+        tickTask = fixtureTaskScheduler.schedule("gameweek-status-tick", () -> tick(tickChain), delay, TICK_TIMEOUT);
+    }
+
+    private void tick(long tickChain) {
+        Duration wait = callBudget.tryAcquire();
+        if (!wait.isZero()) {
+            log.warn("Status poll call budget used up, next poll in {}s", wait.toSeconds());
+            scheduleTick(tickChain, wait);
+            return;
+        }
+
+        Duration nextDelay;
+        try {
+            Map<Long, GameStatusAndScore> current = apiService.getGamesStatus();
+            snapshot = current;
+            consecutiveFailures = 0;
+            dispatchTransitions(current);
+            nextDelay = nextDelay();
+            log.debug("Next gameweek status poll in {}s", nextDelay.toSeconds());
+        } catch (Exception e) {
+            consecutiveFailures++;
+            nextDelay = errorBackoff();
+            log.warn("Failed to fetch gameweek status ({} in a row), retrying in {}s: {}",
+                    consecutiveFailures, nextDelay.toSeconds(), e.getMessage());
+        }
+        scheduleTick(tickChain, nextDelay);
+    }
+
+    private void dispatchTransitions(Map<Long, GameStatusAndScore> current) {
+        for (Map.Entry<Long, Subscription> entry : subscriptions.entrySet()) {
+            GameStatusAndScore status = current.get(entry.getKey());
+            if (status == null) {
+                continue;
+            }
+
+            Subscription subscription = entry.getValue();
+            if (subscription.handling != null && !subscription.handling.isDone()) {
+                log.info("Fixture {} is still handling its last transition, checking it next tick", entry.getKey());
+                continue;
+            }
+            if (subscription.pending != null && !giveUpOrRetry(entry.getKey(), subscription)) {
+                continue;
+            }
+
+            FixtureTransition transition = diff(entry.getKey(), subscription.lastSeen, status);
+            if (transition == null) {
+                subscription.lastSeen = status;
+                continue;
+            }
+
+            subscription.pending = transition;
+            subscription.handling = fixtureTaskScheduler.dispatch(
+                    "fixture-" + entry.getKey() + "-" + transition.type(),
+                    () -> {
+                        subscription.listener.onTransition(transition);
+                        // Only a handled transition moves the fixture on; anything else leaves it pending for a retry
+                        subscription.lastSeen = transition.current();
+                        subscription.pending = null;
+                        subscription.failedAttempts = 0;
+                    },
+                    LISTENER_TIMEOUT);
+        }
+    }
+
+    // The last transition finished without being handled. False when it has been given up on and the fixture dropped
+    private boolean giveUpOrRetry(long fixtureId, Subscription subscription) {
+        FixtureTransition failed = subscription.pending;
+        subscription.pending = null;
+        subscription.failedAttempts++;
+        if (subscription.failedAttempts < MAX_TRANSITION_ATTEMPTS) {
+            log.warn("{} for fixture {} wasn't handled (attempt {}), retrying", failed.type(), fixtureId, subscription.failedAttempts);
+            return true;
+        }
+
+        subscription.failedAttempts = 0;
+        if (failed.type() == FixtureTransition.Type.FINISHED) {
+            log.error("Giving up on FINISHED for fixture {} after {} attempts, no longer watching it", fixtureId, MAX_TRANSITION_ATTEMPTS);
+            unsubscribe(fixtureId);
+            return false;
+        }
+        log.error("Giving up on {} for fixture {} after {} attempts", failed.type(), fixtureId, MAX_TRANSITION_ATTEMPTS);
+        subscription.lastSeen = failed.current();
+        return true;
+    }
+
+    // Whichever watched fixture needs the soonest poll decides when the next one happens
+    private Duration nextDelay() {
+        Instant now = Instant.now();
+        return PollCadence.jittered(subscriptions.values().stream()
+                .map(subscription -> PollCadence.nextDelay(subscription.lastSeen, subscription.kickoff, now))
+                .min(Comparator.naturalOrder())
+                .orElse(PollCadence.MIN_DELAY));
+    }
+
+    private Duration errorBackoff() {
+        Duration backoff = ERROR_BACKOFF.multipliedBy(1L << Math.min(consecutiveFailures - 1, 4));
+        return backoff.compareTo(MAX_ERROR_BACKOFF) > 0 ? MAX_ERROR_BACKOFF : backoff;
+    }
+
+    private static FixtureTransition diff(long fixtureId, GameStatusAndScore previous, GameStatusAndScore current) {
+        GameStatus before = previous == null ? GameStatus.TIMED : previous.getGameStatus();
+        if (current.getGameStatus() == GameStatus.FINISHED && before != GameStatus.FINISHED) {
+            return new FixtureTransition(fixtureId, FixtureTransition.Type.FINISHED, previous, current);
+        }
+        if (current.getGameStatus() == GameStatus.LIVE && before == GameStatus.TIMED) {
+            return new FixtureTransition(fixtureId, FixtureTransition.Type.KICKOFF, previous, current);
+        }
+        if (current.getGameStatus() == GameStatus.LIVE && previous != null
+                && (!Objects.equals(previous.getHomeScore(), current.getHomeScore()) || !Objects.equals(previous.getAwayScore(), current.getAwayScore()))) {
+            return new FixtureTransition(fixtureId, FixtureTransition.Type.SCORE_CHANGE, previous, current);
+        }
+        return null;
+    }
+
+    private static final class Subscription {
+        private final Instant kickoff;
+        private final FixtureTransitionListener listener;
+        private volatile GameStatusAndScore lastSeen;
+        private volatile Future<?> handling;
+        private volatile FixtureTransition pending;
+        private volatile int failedAttempts;
+
+        private Subscription(Instant kickoff, FixtureTransitionListener listener) {
+            this.kickoff = kickoff;
+            this.listener = listener;
+        }
+    }
+}
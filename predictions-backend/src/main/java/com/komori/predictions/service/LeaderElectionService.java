@@ -0,0 +1,163 @@
+package com.komori.predictions.service;
+
+import com.komori.predictions.dto.leader.LeadershipChange;
+import com.komori.predictions.repository.LeaderFenceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+
+/*
+ * Picks the one node that polls the feed, runs the daily jobs and settles matches.
+ * - Leadership is a lease on scheduler:leader, renewed well before it expires. A standby tries to take the lease
+ *   on the same interval, so it takes over within one lease of the leader going away.
+ * - A node only counts itself as leader while its last successful renewal is younger than the lease, so a leader
+ *   cut off from Redis steps down before anyone else can take over.
+ * - Each new leader advances the fencing token in leader_fence. Settlement checks the token inside its own
+ *   transaction, so a deposed leader that hasn't noticed yet can't write points.
+ * Gaining or losing leadership is published as a LeadershipChange event.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderElectionService {
+    private static final String LEADER_KEY = "scheduler:leader";
+    private static final Duration LEASE_TTL = Duration.ofSeconds(15);
+    private static final Duration RENEW_INTERVAL = Duration.ofSeconds(5);
+    private static final Duration ELECTION_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration LEADERSHIP_CHANGE_TIMEOUT = Duration.ofMinutes(10);
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LeaderFenceRepository leaderFenceRepository;
+    private final FixtureTaskScheduler fixtureTaskScheduler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId = System.getenv().getOrDefault("HOSTNAME", "node") + "-" + UUID.randomUUID();
+    private volatile long fencingToken;
+    private volatile long leaseValidUntil = System.nanoTime();
+    private ScheduledFuture<?> electionTask;
+    private boolean stopped;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        log.info("Joining scheduler leader election as {}", nodeId);
+        scheduleElection(Duration.ZERO);
+    }
+
+    public boolean isLeader() {
+        return fencingToken != 0 && leaseValidUntil - System.nanoTime() > 0;
+    }
+
+    // 0 when this node isn't the leader
+    public long getFencingToken() {
+        return isLeader() ? fencingToken : 0;
+    }
+
+    // Runs before the Redis connection factory is stopped, which happens ahead of any @PreDestroy
+    @EventListener(ContextClosedEvent.class)
+    public synchronized void stop() {
+        stopped = true;
+        if (electionTask != null) {
+            electionTask.cancel(false);
+        }
+        // Hand over straight away rather than making the standby wait out the lease
+        if (fencingToken != 0) {
+            fencingToken = 0;
+            try {
+                stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(LEADER_KEY), nodeId);
+                log.info("Released scheduler leadership");
+            } catch (Exception e) {
+                log.warn("Failed to release scheduler leadership: {}", e.getMessage());
+            }
+        }
+    }
+
+    private synchronized void scheduleElection(Duration delay) {
+        if (stopped) {
+            return;
+        }
+        electionTask = fixtureTaskScheduler.schedule("leader-election", this::runElection, delay, ELECTION_TIMEOUT);
+    }
+
+    private void runElection() {
+        try {
+            if (fencingToken == 0) {
+                tryAcquire();
+            } else {
+                renew();
+            }
+        } catch (Exception e) {
+            log.warn("Scheduler leader election failed: {}", e.getMessage());
+        }
+
+        if (fencingToken != 0 && !isLeader()) {
+            log.warn("Scheduler lease ran out before it could be renewed");
+            revoke();
+        }
+        scheduleElection(RENEW_INTERVAL);
+    }
+
+    private void tryAcquire() {
+        long start = System.nanoTime();
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(LEADER_KEY, nodeId, LEASE_TTL))) {
+            return;
+        }
+
+        long token;
+        try {
+            token = leaderFenceRepository.advance();
+        } catch (RuntimeException e) {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(LEADER_KEY), nodeId);
+            throw e;
+        }
+
+        leaseValidUntil = start + LEASE_TTL.toNanos();
+        fencingToken = token;
+        log.info("Became scheduler leader with fencing token {}", token);
+        publish(new LeadershipChange(true, token));
+    }
+
+    private void renew() {
+        long start = System.nanoTime();
+        Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT, List.of(LEADER_KEY), nodeId, String.valueOf(LEASE_TTL.toMillis()));
+        if (renewed == null || renewed == 0) {
+            log.warn("Scheduler lease was taken over by another node");
+            revoke();
+            return;
+        }
+        leaseValidUntil = start + LEASE_TTL.toNanos();
+    }
+
+    private void revoke() {
+        fencingToken = 0;
+        log.info("Stepped down as scheduler leader");
+        publish(new LeadershipChange(false, 0));
+    }
+
+    // Listeners do slow work (squad loads, scheduling the day), so they run off the election task
+    private void publish(LeadershipChange change) {
+        fixtureTaskScheduler.dispatch("leadership-" + (change.leader() ? "granted" : "revoked"),
+                () -> eventPublisher.publishEvent(change), LEADERSHIP_CHANGE_TIMEOUT);
+    }
+}
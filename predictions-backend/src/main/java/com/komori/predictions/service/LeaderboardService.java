@@ -0,0 +1,488 @@
+package com.komori.predictions.service;
+
+import com.komori.predictions.dto.leaderboard.GlobalRank;
+import com.komori.predictions.dto.leaderboard.LeaderboardEntry;
+import com.komori.predictions.dto.projection.MemberPointsProjection;
+import com.komori.predictions.dto.settlement.LeaguePointsUpdate;
+import com.komori.predictions.dto.settlement.UserPointsUpdate;
+import com.komori.predictions.entity.LeagueEntity;
+import com.komori.predictions.repository.UserLeagueRepository;
+import com.komori.predictions.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Supplier;
+
+/*
+ * Standings kept as Redis sorted sets of user id -> points: one per league from
+ * user_league_table, and a global board from users.total_points. Boards are built lazily
+ * the first time they are read and kept current by settlement and membership changes.
+ * Positions follow RANK() semantics: tied members share a position.
+ * A rebuild is written under a side key and swapped in. While it runs it is listed in {board}:builds, and
+ * settlement writes into it as well as the board, so the swap never puts back points older than the last settlement.
+ * While matches are in play, live:match:{id}:points holds each match's provisional points per user,
+ * live:points:global their sum per user, and leaderboard:global:live the global board with them added on.
+ * All of these only change together, inside one script, so concurrent goals and settlements never double-count.
+ * Big matches are written in chunks; each chunk is atomic on its own and carries absolute points, so redoing one is harmless.
+ * Every change bumps live:version. A league's live board is built on first read for each version, from the league
+ * board plus its members' provisional points, so goals cost nothing for leagues nobody is watching.
+ * Everything live goes once nothing is in play.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+    private static final String GLOBAL_KEY = "leaderboard:global";
+    private static final String LIVE_POINTS_KEY = "live:points:global";
+    private static final String LIVE_GLOBAL_KEY = "leaderboard:global:live";
+    private static final String LIVE_MATCHES_KEY = "live:matches";
+    private static final String LIVE_VERSION_KEY = "live:version";
+    private static final Duration LIVE_LEAGUE_TTL = Duration.ofMinutes(10);
+    private static final Duration LIVE_TTL = Duration.ofDays(1);
+    private static final int REBUILD_CHUNK_SIZE = 10_000;
+    private static final Duration REBUILD_TTL = Duration.ofMinutes(10);
+    // ARGV is score/member pairs followed by the build TTL. Builds may not have the member yet, so those are plain ZADDs
+    private static final String APPLY_POINTS_SCRIPT = """
+            local builds = redis.call('SMEMBERS', KEYS[2])
+            for i = 1, #ARGV - 1, 2 do
+                redis.call('ZADD', KEYS[1], 'XX', ARGV[i], ARGV[i + 1])
+                for _, build in ipairs(builds) do
+                    redis.call('ZADD', build, ARGV[i], ARGV[i + 1])
+                end
+            end
+            for _, build in ipairs(builds) do
+                redis.call('PEXPIRE', build, ARGV[#ARGV])
+            end
+            """;
+    private static final RedisScript<Long> SWAP_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('RENAME', KEYS[1], KEYS[2])
+            return redis.call('SREM', KEYS[3], KEYS[1])
+            """, Long.class);
+    // KEYS are the match's points, live:matches, live points, live board, global board and live:version. ARGV is the
+    // match id, the TTL, then user/points pairs. The live board only gets rebuilt when it isn't there to be moved on directly
+    private static final RedisScript<Long> APPLY_LIVE_SCRIPT = new DefaultRedisScript<>("""
+            local liveBoard = redis.call('EXISTS', KEYS[4]) == 1
+            local changed = false
+            for i = 3, #ARGV - 1, 2 do
+                local delta = tonumber(ARGV[i + 1]) - tonumber(redis.call('HGET', KEYS[1], ARGV[i]) or '0')
+                if delta ~= 0 then
+                    changed = true
+                    redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+                    redis.call('ZINCRBY', KEYS[3], delta, ARGV[i])
+                    if liveBoard then
+                        redis.call('ZINCRBY', KEYS[4], delta, ARGV[i])
+                    end
+                end
+            end
+            redis.call('SADD', KEYS[2], ARGV[1])
+            if not liveBoard and redis.call('EXISTS', KEYS[5]) == 1 then
+                redis.call('ZUNIONSTORE', KEYS[4], 2, KEYS[5], KEYS[3])
+            end
+            if changed then
+                redis.call('INCR', KEYS[6])
+            end
+            for i = 1, 4 do
+                redis.call('EXPIRE', KEYS[i], ARGV[2])
+            end
+            redis.call('EXPIRE', KEYS[6], ARGV[2])
+            return 1
+            """, Long.class);
+    private static final RedisScript<Long> CONFIRM_LIVE_SCRIPT = new DefaultRedisScript<>("""
+            local applied = redis.call('HGETALL', KEYS[1])
+            local removed = redis.call('SREM', KEYS[2], ARGV[1])
+            if #applied == 0 and removed == 0 then
+                return 0
+            end
+            for i = 1, #applied, 2 do
+                redis.call('ZINCRBY', KEYS[3], -tonumber(applied[i + 1]), applied[i])
+            end
+            redis.call('ZREMRANGEBYSCORE', KEYS[3], 0, 0)
+            redis.call('DEL', KEYS[1])
+            redis.call('INCR', KEYS[6])
+            redis.call('EXPIRE', KEYS[6], ARGV[2])
+            if redis.call('SCARD', KEYS[2]) == 0 then
+                redis.call('DEL', KEYS[3], KEYS[4])
+            elseif redis.call('EXISTS', KEYS[5]) == 1 then
+                redis.call('ZUNIONSTORE', KEYS[4], 2, KEYS[5], KEYS[3])
+                redis.call('EXPIRE', KEYS[4], ARGV[2])
+            else
+                redis.call('DEL', KEYS[4])
+            end
+            return 1
+            """, Long.class);
+    // A league's members with their provisional points added on: the intersection picks out the members' live points
+    private static final RedisScript<Long> BUILD_LIVE_LEAGUE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZINTERSTORE', KEYS[3], 2, KEYS[1], KEYS[2], 'WEIGHTS', 0, 1)
+            redis.call('ZUNIONSTORE', KEYS[3], 2, KEYS[1], KEYS[3])
+            redis.call('EXPIRE', KEYS[3], ARGV[1])
+            return 1
+            """, Long.class);
+    private final StringRedisTemplate stringRedisTemplate;
+    private final UserLeagueRepository userLeagueRepository;
+    private final UserRepository userRepository;
+    private final Object globalRebuildLock = new Object();
+
+    public GlobalRank getGlobalRank(int points) {
+        ensureGlobalBoard();
+        int rank = rankForScore(GLOBAL_KEY, points);
+        Long size = stringRedisTemplate.opsForZSet().zCard(GLOBAL_KEY);
+        int totalUsers = Math.max(size == null ? 0 : size.intValue(), rank);
+        return new GlobalRank(rank, totalUsers, (rank * 100.0) / totalUsers);
+    }
+
+    public void addGlobalUser(long userId, int points) {
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(GLOBAL_KEY))) {
+            stringRedisTemplate.opsForZSet().add(GLOBAL_KEY, String.valueOf(userId), points);
+        }
+    }
+
+    public void removeUser(long userId, List<String> leagueUuids) {
+        String member = String.valueOf(userId);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.zRem(GLOBAL_KEY, member);
+            for (String leagueUuid : leagueUuids) {
+                stringConnection.zRem(leagueKey(leagueUuid), member);
+            }
+            return null;
+        });
+    }
+
+    public void applyGlobalPoints(List<UserPointsUpdate> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        List<String> scoresAndMembers = new ArrayList<>(updates.size() * 2);
+        for (UserPointsUpdate update : updates) {
+            scoresAndMembers.add(String.valueOf(update.totalPoints()));
+            scoresAndMembers.add(String.valueOf(update.userId()));
+        }
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            applyPoints((StringRedisConnection) connection, GLOBAL_KEY, scoresAndMembers);
+            return null;
+        });
+    }
+
+    // Recovery path for drift: rebuilds the global board and drops league boards so they rebuild on next read
+    public void rebuildAll() {
+        rebuildGlobal();
+        int dropped = 0;
+        try (Cursor<String> keys = stringRedisTemplate.scan(ScanOptions.scanOptions().match("league:*:leaderboard").count(500).build())) {
+            while (keys.hasNext()) {
+                stringRedisTemplate.delete(keys.next());
+                dropped++;
+            }
+        }
+        log.info("Dropped {} league leaderboards for lazy rebuild", dropped);
+    }
+
+    public void rebuildGlobal() {
+        int users = rebuild(GLOBAL_KEY, userRepository::findAllUserPoints);
+        log.info("Rebuilt global leaderboard with {} users", users);
+    }
+
+    private void ensureGlobalBoard() {
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(GLOBAL_KEY))) {
+            return;
+        }
+        // Rebuilding scans every user, so only one request per node does it
+        synchronized (globalRebuildLock) {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(GLOBAL_KEY))) {
+                rebuildGlobal();
+            }
+        }
+    }
+
+    // Sets a match's provisional points for the given users; live totals move on by the difference from what was applied before
+    public void applyLivePoints(long matchId, Map<Long, Integer> points) {
+        if (points.isEmpty()) {
+            return;
+        }
+
+        ensureGlobalBoard();
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(points.entrySet());
+        for (int from = 0; from < entries.size(); from += REBUILD_CHUNK_SIZE) {
+            List<Map.Entry<Long, Integer>> chunk = entries.subList(from, Math.min(from + REBUILD_CHUNK_SIZE, entries.size()));
+            List<String> args = new ArrayList<>(2 + chunk.size() * 2);
+            args.add(String.valueOf(matchId));
+            args.add(String.valueOf(LIVE_TTL.toSeconds()));
+            for (Map.Entry<Long, Integer> entry : chunk) {
+                args.add(String.valueOf(entry.getKey()));
+                args.add(String.valueOf(entry.getValue()));
+            }
+            stringRedisTemplate.execute(APPLY_LIVE_SCRIPT, liveKeys(matchId), args.toArray());
+        }
+    }
+
+    // Takes a settled match's provisional points back out, now that its real points are on the boards. Safe to repeat
+    public boolean confirmLivePoints(long matchId) {
+        ensureGlobalBoard();
+        Long confirmed = stringRedisTemplate.execute(CONFIRM_LIVE_SCRIPT, liveKeys(matchId),
+                String.valueOf(matchId), String.valueOf(LIVE_TTL.toSeconds()));
+        return confirmed != null && confirmed == 1;
+    }
+
+    public Map<Long, Integer> getAppliedLivePoints(long matchId) {
+        Map<Long, Integer> points = new HashMap<>();
+        stringRedisTemplate.<String, String>opsForHash().entries(liveMatchKey(matchId))
+                .forEach((userId, userPoints) -> points.put(Long.parseLong(userId), Integer.parseInt(userPoints)));
+        return points;
+    }
+
+    public Map<Long, Integer> getLivePoints(List<Long> userIds) {
+        Map<Long, Integer> points = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return points;
+        }
+
+        List<Double> scores = stringRedisTemplate.opsForZSet().score(LIVE_POINTS_KEY, userIds.stream().map(String::valueOf).toArray());
+        for (int i = 0; i < userIds.size(); i++) {
+            Double score = scores == null ? null : scores.get(i);
+            points.put(userIds.get(i), score == null ? 0 : score.intValue());
+        }
+        return points;
+    }
+
+    // The regular global board when nothing is in play
+    public List<LeaderboardEntry> getLiveGlobalTop(int limit) {
+        String key = LIVE_GLOBAL_KEY;
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(key))) {
+            ensureGlobalBoard();
+            key = GLOBAL_KEY;
+        }
+        return toEntries(stringRedisTemplate.opsForZSet().reverseRangeWithScores(key, 0, limit - 1), 1);
+    }
+
+    // Every member, with provisional points added on; just the league board when nothing is in play
+    public List<LeaderboardEntry> getLiveLeagueBoard(LeagueEntity league) {
+        String leagueKey = ensureLeagueBoard(league);
+        String version = stringRedisTemplate.opsForValue().get(LIVE_VERSION_KEY);
+        if (version == null || !Boolean.TRUE.equals(stringRedisTemplate.hasKey(LIVE_POINTS_KEY))) {
+            return toEntries(stringRedisTemplate.opsForZSet().reverseRangeWithScores(leagueKey, 0, -1), 1);
+        }
+
+        String key = liveLeagueKey(league.getUUID(), version);
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(key))) {
+            stringRedisTemplate.execute(BUILD_LIVE_LEAGUE_SCRIPT, List.of(leagueKey, LIVE_POINTS_KEY, key),
+                    String.valueOf(LIVE_LEAGUE_TTL.toSeconds()));
+        }
+        return toEntries(stringRedisTemplate.opsForZSet().reverseRangeWithScores(key, 0, -1), 1);
+    }
+
+    private static List<String> liveKeys(long matchId) {
+        return List.of(liveMatchKey(matchId), LIVE_MATCHES_KEY, LIVE_POINTS_KEY, LIVE_GLOBAL_KEY, GLOBAL_KEY, LIVE_VERSION_KEY);
+    }
+
+    private static String liveMatchKey(long matchId) {
+        return "live:match:" + matchId + ":points";
+    }
+
+    private static String liveLeagueKey(String leagueUuid, String version) {
+        return "league:" + leagueUuid + ":leaderboard:live:" + version;
+    }
+
+    // Membership changes show on the live board straight away rather than at the next goal
+    private void dropLiveLeagueBoard(String leagueUuid) {
+        String version = stringRedisTemplate.opsForValue().get(LIVE_VERSION_KEY);
+        if (version != null) {
+            stringRedisTemplate.delete(liveLeagueKey(leagueUuid, version));
+        }
+    }
+
+    public Integer getLeagueRank(LeagueEntity league, long userId) {
+        String key = ensureLeagueBoard(league);
+        Double score = stringRedisTemplate.opsForZSet().score(key, String.valueOf(userId));
+        if (score == null) {
+            return null;
+        }
+        return rankForScore(key, score);
+    }
+
+    public Map<Long, Integer> getLeagueRanks(LeagueEntity league) {
+        String key = ensureLeagueBoard(league);
+        Set<ZSetOperations.TypedTuple<String>> board = stringRedisTemplate.opsForZSet().reverseRangeWithScores(key, 0, -1);
+        Map<Long, Integer> ranks = new HashMap<>();
+        for (LeaderboardEntry entry : toEntries(board, 1)) {
+            ranks.put(entry.userId(), entry.position());
+        }
+        return ranks;
+    }
+
+    // Positions for a page of members only depend on their scores, so resolve each distinct score once
+    public Map<Integer, Integer> getLeagueRanksForPoints(LeagueEntity league, Collection<Integer> points) {
+        String key = ensureLeagueBoard(league);
+        List<Integer> distinct = List.copyOf(new LinkedHashSet<>(points));
+        List<Object> counts = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Integer score : distinct) {
+                stringConnection.zCount(key, score + 0.5, Double.POSITIVE_INFINITY);
+            }
+            return null;
+        });
+
+        Map<Integer, Integer> ranks = new HashMap<>();
+        for (int i = 0; i < distinct.size(); i++) {
+            Long above = (Long) counts.get(i);
+            ranks.put(distinct.get(i), (above == null ? 0 : above.intValue()) + 1);
+        }
+        return ranks;
+    }
+
+    public int getLeagueSize(LeagueEntity league) {
+        Long size = stringRedisTemplate.opsForZSet().zCard(ensureLeagueBoard(league));
+        return size == null ? 0 : size.intValue();
+    }
+
+    public List<LeaderboardEntry> getLeagueTop(LeagueEntity league, int limit) {
+        String key = ensureLeagueBoard(league);
+        Set<ZSetOperations.TypedTuple<String>> board = stringRedisTemplate.opsForZSet().reverseRangeWithScores(key, 0, limit - 1);
+        return toEntries(board, 1);
+    }
+
+    public void addLeagueMember(String leagueUuid, long userId, int points) {
+        String key = leagueKey(leagueUuid);
+        // A missing board is rebuilt from the database on first read, which will include this member
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(key))) {
+            stringRedisTemplate.opsForZSet().add(key, String.valueOf(userId), points);
+        }
+        dropLiveLeagueBoard(leagueUuid);
+    }
+
+    public void removeLeagueMember(String leagueUuid, long userId) {
+        stringRedisTemplate.opsForZSet().remove(leagueKey(leagueUuid), String.valueOf(userId));
+        dropLiveLeagueBoard(leagueUuid);
+    }
+
+    public void deleteLeague(String leagueUuid) {
+        stringRedisTemplate.delete(leagueKey(leagueUuid));
+        dropLiveLeagueBoard(leagueUuid);
+    }
+
+    public void applyLeaguePoints(List<LeaguePointsUpdate> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<String>> byBoard = new HashMap<>();
+        for (LeaguePointsUpdate update : updates) {
+            List<String> scoresAndMembers = byBoard.computeIfAbsent(leagueKey(update.leagueUuid()), key -> new ArrayList<>());
+            scoresAndMembers.add(String.valueOf(update.points()));
+            scoresAndMembers.add(String.valueOf(update.userId()));
+        }
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            byBoard.forEach((key, scoresAndMembers) -> applyPoints(stringConnection, key, scoresAndMembers));
+            return null;
+        });
+    }
+
+    public void rebuildLeague(LeagueEntity league) {
+        int members = rebuild(leagueKey(league.getUUID()), () -> userLeagueRepository.findMemberPointsByLeagueId(league.getId()));
+        log.info("Rebuilt leaderboard for league {} with {} members", league.getUUID(), members);
+    }
+
+    // ZADD XX only touches boards and members that already exist, so settlement never creates a partial board
+    private void applyPoints(StringRedisConnection connection, String key, List<String> scoresAndMembers) {
+        for (int from = 0; from < scoresAndMembers.size(); from += REBUILD_CHUNK_SIZE * 2) {
+            List<String> chunk = scoresAndMembers.subList(from, Math.min(from + REBUILD_CHUNK_SIZE * 2, scoresAndMembers.size()));
+            String[] keysAndArgs = new String[chunk.size() + 3];
+            keysAndArgs[0] = key;
+            keysAndArgs[1] = buildsKey(key);
+            for (int i = 0; i < chunk.size(); i++) {
+                keysAndArgs[i + 2] = chunk.get(i);
+            }
+            keysAndArgs[keysAndArgs.length - 1] = String.valueOf(REBUILD_TTL.toMillis());
+            connection.eval(APPLY_POINTS_SCRIPT, ReturnType.STATUS, 2, keysAndArgs);
+        }
+    }
+
+    // Builds aside and swaps in so readers never see a half-built board; returns the number of members
+    private int rebuild(String key, Supplier<List<MemberPointsProjection>> source) {
+        String buildKey = key + ":rebuild:" + UUID.randomUUID();
+        String buildsKey = buildsKey(key);
+        // Registered before the database is read, so any settlement from here on also lands in the build
+        stringRedisTemplate.opsForSet().add(buildsKey, buildKey);
+        stringRedisTemplate.expire(buildsKey, REBUILD_TTL);
+        try {
+            List<MemberPointsProjection> members = source.get();
+            if (members.isEmpty()) {
+                stringRedisTemplate.delete(List.of(key, buildKey));
+                stringRedisTemplate.opsForSet().remove(buildsKey, buildKey);
+                return 0;
+            }
+
+            for (int from = 0; from < members.size(); from += REBUILD_CHUNK_SIZE) {
+                List<MemberPointsProjection> chunk = members.subList(from, Math.min(from + REBUILD_CHUNK_SIZE, members.size()));
+                Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>(chunk.size());
+                for (MemberPointsProjection member : chunk) {
+                    tuples.add(ZSetOperations.TypedTuple.of(String.valueOf(member.getUserId()), member.getPoints().doubleValue()));
+                }
+                // NX keeps points settlement has already written into the build, which are newer than this read
+                stringRedisTemplate.opsForZSet().addIfAbsent(buildKey, tuples);
+                stringRedisTemplate.expire(buildKey, REBUILD_TTL);
+            }
+            stringRedisTemplate.execute(SWAP_SCRIPT, List.of(buildKey, key, buildsKey));
+            return members.size();
+        } catch (RuntimeException e) {
+            stringRedisTemplate.delete(buildKey);
+            stringRedisTemplate.opsForSet().remove(buildsKey, buildKey);
+            throw e;
+        }
+    }
+
+    private String ensureLeagueBoard(LeagueEntity league) {
+        String key = leagueKey(league.getUUID());
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(key))) {
+            rebuildLeague(league);
+        }
+        return key;
+    }
+
+    // Points are whole numbers, so everything strictly above a score starts at score + 0.5
+    private int rankForScore(String key, double score) {
+        Long above = stringRedisTemplate.opsForZSet().count(key, score + 0.5, Double.POSITIVE_INFINITY);
+        return (above == null ? 0 : above.intValue()) + 1;
+    }
+
+    private List<LeaderboardEntry> toEntries(Set<ZSetOperations.TypedTuple<String>> board, int firstPosition) {
+        if (board == null || board.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<LeaderboardEntry> entries = new ArrayList<>(board.size());
+        int index = 0;
+        int position = firstPosition;
+        Double previous = null;
+        for (ZSetOperations.TypedTuple<String> tuple : board) {
+            double score = tuple.getScore() == null ? 0 : tuple.getScore();
+            if (previous == null || score != previous) {
+                position = firstPosition + index;
+            }
+            entries.add(new LeaderboardEntry(Long.parseLong(tuple.getValue()), (int) score, position));
+            previous = score;
+            index++;
+        }
+        return entries;
+    }
+
+    private static String buildsKey(String key) {
+        return key + ":builds";
+    }
+
+    private static String leagueKey(String leagueUuid) {
+        return "league:" + leagueUuid + ":leaderboard";
+    }
+}
@@ -0,0 +1,88 @@
+package com.komori.predictions.service;
+
+import com.komori.predictions.dto.response.LeaguePredictionSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/*
+ * Caches league prediction pages per league and gameweek. Keys carry a per-gameweek version,
+ * so a kickoff or settlement invalidates every league at once by bumping the version; stale
+ * versions are left to expire.
+ * Readers take the key before querying and write back under that same key, so rows read before a bump
+ * only ever land under a version nobody reads any more.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaguePredictionCacheService {
+    private static final Duration TTL = Duration.ofHours(12);
+    private final RedisTemplate<String, LeaguePredictionSummary> redisLeaguePredictionTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public String cacheKey(String leagueUuid, int gameweek) {
+        return cacheKey(leagueUuid, gameweek, currentVersion(gameweek));
+    }
+
+    public List<LeaguePredictionSummary> get(String key) {
+        List<LeaguePredictionSummary> cached = redisLeaguePredictionTemplate.opsForList().range(key, 0, -1);
+        return cached == null || cached.isEmpty() ? null : cached;
+    }
+
+    public void put(String key, List<LeaguePredictionSummary> predictions) {
+        if (predictions.isEmpty()) {
+            return;
+        }
+
+        redisLeaguePredictionTemplate.delete(key);
+        redisLeaguePredictionTemplate.opsForList().rightPushAll(key, predictions);
+        redisLeaguePredictionTemplate.expire(key, TTL);
+    }
+
+    public void evict(Collection<String> leagueUuids, int gameweek) {
+        if (leagueUuids.isEmpty()) {
+            return;
+        }
+
+        String version = currentVersion(gameweek);
+        redisLeaguePredictionTemplate.delete(leagueUuids.stream()
+                .map(uuid -> cacheKey(uuid, gameweek, version))
+                .toList());
+    }
+
+    // Membership changes affect every gameweek of one league
+    public void evictLeague(String leagueUuid) {
+        ScanOptions options = ScanOptions.scanOptions().match("league:" + leagueUuid + ":predictions:*").count(100).build();
+        try (Cursor<String> keys = stringRedisTemplate.scan(options)) {
+            while (keys.hasNext()) {
+                stringRedisTemplate.delete(keys.next());
+            }
+        }
+    }
+
+    public void invalidateGameweek(int gameweek) {
+        stringRedisTemplate.opsForValue().increment(versionKey(gameweek));
+        log.info("Invalidated league predictions for gameweek {}", gameweek);
+    }
+
+    private String currentVersion(int gameweek) {
+        String version = stringRedisTemplate.opsForValue().get(versionKey(gameweek));
+        return version == null ? "0" : version;
+    }
+
+    private static String cacheKey(String leagueUuid, int gameweek, String version) {
+        return "league:" + leagueUuid + ":predictions:" + gameweek + ":" + version;
+    }
+
+    private static String versionKey(int gameweek) {
+        return "league-predictions:" + gameweek + ":version";
+    }
+}
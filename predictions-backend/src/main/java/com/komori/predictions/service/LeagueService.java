@@ -1,12 +1,18 @@
 package com.komori.predictions.service;
 
+import com.komori.predictions.dto.leaderboard.LeaderboardEntry;
+import com.komori.predictions.dto.leaderboard.StandingsCursor;
+import com.komori.predictions.dto.projection.StandingRowProjection;
 import com.komori.predictions.dto.request.CreateLeagueRequest;
 import com.komori.predictions.dto.request.UserLeagueActionRequest;
 import com.komori.predictions.dto.request.UpdateLeagueRequest;
 import com.komori.predictions.dto.response.LeagueOverview;
 import com.komori.predictions.dto.response.LeaguePredictionSummary;
 import com.komori.predictions.dto.response.LeagueStanding;
+import com.komori.predictions.dto.response.LeagueStandingPage;
+import com.komori.predictions.dto.response.LiveStanding;
 import com.komori.predictions.entity.*;
+import com.komori.predictions.entity.id.UserLeagueId;
 import com.komori.predictions.dto.enumerated.Publicity;
 import com.komori.predictions.exception.LeagueNotFoundException;
 import com.komori.predictions.repository.*;
@@ -20,12 +26,14 @@ import java.util.*;
 @Service
 @RequiredArgsConstructor
 public class LeagueService {
+    private static final int MAX_STANDINGS_PAGE_SIZE = 100;
     private final LeagueRepository leagueRepository;
     private final UserRepository userRepository;
     private final UserLeagueRepository userLeagueRepository;
     private final PredictionRepository predictionRepository;
-    private final MatchRepository matchRepository;
     private final MatchdayService matchdayService;
+    private final LeaderboardService leaderboardService;
+    private final LeaguePredictionCacheService leaguePredictionCacheService;
 
     public void createLeague(String email, CreateLeagueRequest request) {
         UserEntity currentUser = userRepository.findByEmail(email)
@@ -52,6 +60,7 @@ public class LeagueService {
         int points = predictionRepository.getPointsSinceGameweek(email, request.getFirstGameweek(), matchdayService.getCurrentMatchday());
         UserLeagueEntity userLeague = new UserLeagueEntity(currentUser, newLeague, points, true, true);
         userLeagueRepository.save(userLeague);
+        leaderboardService.addLeagueMember(newLeague.getUUID(), currentUser.getId(), points);
     }
 
     @Transactional(readOnly = true)
@@ -75,17 +84,105 @@ public class LeagueService {
         return leagueEntityToStanding(league, user);
     }
 
+    @Transactional(readOnly = true)
+    public LiveStanding getLiveLeagueStanding(String email, String uuid) {
+        UserEntity user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+        LeagueEntity league = leagueRepository.findByUUID(uuid)
+                .orElseThrow(LeagueNotFoundException::new);
+
+        // Already ranked in Redis, tied members sharing a position as on the settled standings
+        List<LeaderboardEntry> entries = leaderboardService.getLiveLeagueBoard(league);
+        List<Long> userIds = entries.stream().map(LeaderboardEntry::userId).toList();
+        Map<Long, UserEntity> users = new HashMap<>();
+        userRepository.findAllById(userIds).forEach(member -> users.put(member.getId(), member));
+        Map<Long, Integer> provisional = leaderboardService.getLivePoints(userIds);
+
+        List<LiveStanding.LiveMember> members = new ArrayList<>(entries.size());
+        for (LeaderboardEntry entry : entries) {
+            UserEntity member = users.get(entry.userId());
+            if (member == null) {
+                continue;
+            }
+            members.add(LiveStanding.LiveMember.builder()
+                    .id(member.getUUID())
+                    .username(member.getUsername())
+                    .displayName(member.getFirstName() + " " + member.getLastName())
+                    .position(entry.position())
+                    .points(entry.points())
+                    .provisionalPoints(provisional.getOrDefault(entry.userId(), 0))
+                    .isCurrentUser(Objects.equals(member.getId(), user.getId()))
+                    .build());
+        }
+        return new LiveStanding(league.getUUID(), members);
+    }
+
+    @Transactional(readOnly = true)
+    public LeagueStandingPage getLeagueStandingPage(String email, String uuid, String after, String before, boolean aroundMe, int limit) {
+        UserEntity user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+        LeagueEntity league = leagueRepository.findByUUID(uuid)
+                .orElseThrow(LeagueNotFoundException::new);
+
+        int size = Math.clamp(limit, 1, MAX_STANDINGS_PAGE_SIZE);
+        Optional<UserLeagueEntity> membership = aroundMe
+                ? userLeagueRepository.findById(new UserLeagueId(user.getId(), league.getId()))
+                : Optional.empty();
+
+        List<StandingRowProjection> rows;
+        boolean hasPrevious;
+        boolean hasNext;
+        if (membership.isPresent()) {
+            int points = membership.get().getPoints();
+            List<StandingRowProjection> above = userLeagueRepository.findStandingsBefore(league.getId(), points, user.getId(), size / 2 + 1);
+            hasPrevious = above.size() > size / 2;
+            above = new ArrayList<>(above.subList(0, Math.min(above.size(), size / 2)));
+            Collections.reverse(above);
+            // userId - 1 makes the anchor row itself the first row returned
+            List<StandingRowProjection> below = userLeagueRepository.findStandingsAfter(league.getId(), points, user.getId() - 1, size - above.size() + 1);
+            hasNext = below.size() > size - above.size();
+            rows = new ArrayList<>(above);
+            rows.addAll(below.subList(0, Math.min(below.size(), size - above.size())));
+        } else if (before != null) {
+            StandingsCursor cursor = StandingsCursor.decode(before);
+            List<StandingRowProjection> fetched = userLeagueRepository.findStandingsBefore(league.getId(), cursor.points(), cursor.userId(), size + 1);
+            hasPrevious = fetched.size() > size;
+            hasNext = true;
+            rows = new ArrayList<>(fetched.subList(0, Math.min(fetched.size(), size)));
+            Collections.reverse(rows);
+        } else if (after != null) {
+            StandingsCursor cursor = StandingsCursor.decode(after);
+            List<StandingRowProjection> fetched = userLeagueRepository.findStandingsAfter(league.getId(), cursor.points(), cursor.userId(), size + 1);
+            hasPrevious = true;
+            hasNext = fetched.size() > size;
+            rows = fetched.subList(0, Math.min(fetched.size(), size));
+        } else {
+            List<StandingRowProjection> fetched = userLeagueRepository.findStandingsFirstPage(league.getId(), size + 1);
+            hasPrevious = false;
+            hasNext = fetched.size() > size;
+            rows = fetched.subList(0, Math.min(fetched.size(), size));
+        }
+
+        return LeagueStandingPage.builder()
+                .leagueId(league.getUUID())
+                .totalMembers(leaderboardService.getLeagueSize(league))
+                .standings(rowsToMembers(league, rows, user))
+                .previousCursor(hasPrevious && !rows.isEmpty() ? toCursor(rows.getFirst()) : null)
+                .nextCursor(hasNext && !rows.isEmpty() ? toCursor(rows.getLast()) : null)
+                .build();
+    }
+
     public List<LeaguePredictionSummary> getLeaguePredictions(String uuid, Integer gameweek) {
-        List<UserLeagueEntity> userLeagueEntities = userLeagueRepository.findAllByLeague_UUID(uuid);
-        List<LeaguePredictionSummary> predictions = new ArrayList<>();
-        for (UserLeagueEntity entity : userLeagueEntities) {
-            UserEntity user = entity.getUser();
-            List<PredictionEntity> predictionEntities = predictionRepository.findAllByUserAndGameweek(user, gameweek);
-            predictionEntities.forEach(e -> {
-                MatchEntity match = matchRepository.findByMatchId(e.getMatchId());
-                predictions.add(new LeaguePredictionSummary(e, match));
-            });
+        String key = leaguePredictionCacheService.cacheKey(uuid, gameweek);
+        List<LeaguePredictionSummary> cached = leaguePredictionCacheService.get(key);
+        if (cached != null) {
+            return cached;
         }
+
+        List<LeaguePredictionSummary> predictions = predictionRepository.findLeaguePredictionSummaries(uuid, gameweek);
+        leaguePredictionCacheService.put(key, predictions);
         return predictions;
     }
 
@@ -99,6 +196,8 @@ public class LeagueService {
         int points = predictionRepository.getPointsSinceGameweek(email, league.getFirstGameweek(), matchdayService.getCurrentMatchday());
         UserLeagueEntity newEntity = new UserLeagueEntity(user, league, points, false, false);
         userLeagueRepository.save(newEntity);
+        leaderboardService.addLeagueMember(league.getUUID(), user.getId(), points);
+        leaguePredictionCacheService.evictLeague(league.getUUID());
     }
 
     @Transactional
@@ -124,6 +223,8 @@ public class LeagueService {
                 .orElseThrow(() -> new UsernameNotFoundException("User is not in league"));
 
         userLeagueRepository.delete(entity);
+        leaderboardService.removeLeagueMember(request.getLeagueId(), entity.getUser().getId());
+        leaguePredictionCacheService.evictLeague(request.getLeagueId());
     }
 
     @Transactional
@@ -132,6 +233,8 @@ public class LeagueService {
                 .orElseThrow(LeagueNotFoundException::new);
 
         userLeagueRepository.deleteAllByLeague(league);
+        leaderboardService.deleteLeague(uuid);
+        leaguePredictionCacheService.evictLeague(uuid);
     }
 
     private String generateLeagueCode() {
@@ -163,7 +266,7 @@ public class LeagueService {
                 .name(league.getName())
                 .description(league.getDescription())
                 .members(league.getUsers().size())
-                .position(userRepository.findUserRankInLeague(user.getId(), league.getId()))
+                .position(leaderboardService.getLeagueRank(league, user.getId()))
                 .points(points)
                 .firstGameweek(league.getFirstGameweek())
                 .joinCode(league.getLeagueCode())
@@ -173,19 +276,55 @@ public class LeagueService {
                 .build();
     }
 
+    private List<LeagueStanding.LeagueMember> rowsToMembers(LeagueEntity league, List<StandingRowProjection> rows, UserEntity currentUser) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Integer> ranks = leaderboardService.getLeagueRanksForPoints(league, rows.stream().map(StandingRowProjection::getPoints).toList());
+        Map<Long, Integer> predictionCounts = new HashMap<>();
+        predictionRepository.countPredictionsSinceGameweekByUsers(rows.stream().map(StandingRowProjection::getUserId).toList(),
+                        league.getFirstGameweek(), matchdayService.getCurrentMatchday())
+                .forEach(count -> predictionCounts.put(count.getUserId(), count.getPredictions()));
+
+        List<LeagueStanding.LeagueMember> members = new ArrayList<>(rows.size());
+        for (StandingRowProjection row : rows) {
+            members.add(LeagueStanding.LeagueMember.builder()
+                    .id(row.getUuid())
+                    .username(row.getUsername())
+                    .displayName(row.getFirstName() + " " + row.getLastName())
+                    .position(ranks.get(row.getPoints()))
+                    .points(row.getPoints())
+                    .predictions(predictionCounts.getOrDefault(row.getUserId(), 0))
+                    .joinedAt(row.getJoinedAt().toInstant())
+                    .isCurrentUser(Objects.equals(row.getUserId(), currentUser.getId()))
+                    .isAdmin(row.getIsAdmin())
+                    .build());
+        }
+        return members;
+    }
+
+    private static String toCursor(StandingRowProjection row) {
+        return new StandingsCursor(row.getPoints(), row.getUserId()).encode();
+    }
+
     protected LeagueStanding leagueEntityToStanding(LeagueEntity league, UserEntity currentUser) {
-        List<UserLeagueEntity> userLeagueEntities = userLeagueRepository.findAllByLeague(league);
+        List<UserLeagueEntity> userLeagueEntities = userLeagueRepository.findAllWithUserByLeague(league);
+        Map<Long, Integer> ranks = leaderboardService.getLeagueRanks(league);
+        Map<Long, Integer> predictionCounts = new HashMap<>();
+        predictionRepository.countPredictionsSinceGameweekByLeague(league.getId(), league.getFirstGameweek(), matchdayService.getCurrentMatchday())
+                .forEach(count -> predictionCounts.put(count.getUserId(), count.getPredictions()));
+
         Set<LeagueStanding.LeagueMember> members = new HashSet<>();
         userLeagueEntities.forEach(userLeagueEntity -> {
-            LeagueEntity leagueEntity = userLeagueEntity.getLeague();
             UserEntity userEntity = userLeagueEntity.getUser();
             LeagueStanding.LeagueMember member = LeagueStanding.LeagueMember.builder()
                     .id(userEntity.getUUID())
                     .username(userEntity.getUsername())
                     .displayName(userEntity.getFirstName() + " " + userEntity.getLastName())
-                    .position(userRepository.findUserRankInLeague(userEntity.getId(), leagueEntity.getId()))
+                    .position(ranks.get(userEntity.getId()))
                     .points(userLeagueEntity.getPoints())
-                    .predictions(predictionRepository.countPredictionsSinceGameweek(userEntity.getEmail(), leagueEntity.getFirstGameweek(), matchdayService.getCurrentMatchday()))
+                    .predictions(predictionCounts.getOrDefault(userEntity.getId(), 0))
                     .joinedAt(userLeagueEntity.getJoinedAt().toInstant())
                     .isCurrentUser(Objects.equals(userEntity.getId(), currentUser.getId()))
                     .isAdmin(userLeagueEntity.getIsAdmin())
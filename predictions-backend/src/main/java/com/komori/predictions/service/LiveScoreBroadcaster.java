@@ -0,0 +1,184 @@
+package com.komori.predictions.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.komori.predictions.dto.fixture.FixtureUpdate;
+import com.komori.predictions.dto.request.GameStatusAndScore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/*
+ * Pushes fixture updates to every open /fixtures/live stream.
+ * - The leader publishes each update once: it gets the next id from fixtures:live:sequence, is appended to the
+ *   capped fixtures:live:events history and goes out on the fixtures:live channel, all in one script.
+ * - Every node, the leader included, fans updates from the channel out to its own connections. Each update is
+ *   rendered into an SSE frame once and that frame is shared by every connection.
+ * - Each connection has a small buffer drained by its own virtual thread, so a slow client never holds anyone else
+ *   up. A client whose buffer fills is disconnected and resumes from its Last-Event-ID.
+ * - Resuming replays what was missed from the history; a client too far behind is told to resync from /fixtures.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LiveScoreBroadcaster implements MessageListener {
+    private static final String CHANNEL = "fixtures:live";
+    private static final String SEQUENCE_KEY = "fixtures:live:sequence";
+    private static final String HISTORY_KEY = "fixtures:live:events";
+    private static final int HISTORY_SIZE = 500;
+    private static final int CONNECTION_BUFFER = 32;
+    private static final Duration CONNECTION_TIMEOUT = Duration.ofMinutes(30);
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(25);
+    private static final RedisScript<Long> PUBLISH_SCRIPT = new DefaultRedisScript<>("""
+            local id = redis.call('INCR', KEYS[1])
+            local message = id .. ' ' .. ARGV[1]
+            redis.call('LPUSH', KEYS[2], message)
+            redis.call('LTRIM', KEYS[2], 0, tonumber(ARGV[2]) - 1)
+            redis.call('PUBLISH', ARGV[3], message)
+            return id
+            """, Long.class);
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final ExecutorService writers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("live-score-", 0).factory());
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public void publish(long fixtureId, GameStatusAndScore status) {
+        FixtureUpdate update = new FixtureUpdate(fixtureId, status.getGameStatus(), status.getHomeScore(), status.getAwayScore());
+        try {
+            String data = objectMapper.writeValueAsString(update);
+            stringRedisTemplate.execute(PUBLISH_SCRIPT, List.of(SEQUENCE_KEY, HISTORY_KEY), data, String.valueOf(HISTORY_SIZE), CHANNEL);
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Clients still pick the change up from /fixtures, so a missed push isn't worth failing the transition over
+            log.warn("Failed to publish live update for fixture {}: {}", fixtureId, e.getMessage());
+        }
+    }
+
+    public SseEmitter connect(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(CONNECTION_TIMEOUT.toMillis());
+        Connection connection = new Connection(emitter);
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(connection::close);
+        emitter.onError(e -> connection.close());
+
+        // Registered before the history is read, so nothing published in between is missed
+        connections.add(connection);
+        List<Set<ResponseBodyEmitter.DataWithMediaType>> replay = lastEventId == null ? List.of() : missedSince(lastEventId, connection);
+        writers.execute(() -> connection.run(replay));
+        return emitter;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        LiveEvent event = LiveEvent.parse(new String(message.getBody(), StandardCharsets.UTF_8));
+        for (Connection connection : connections) {
+            if (!connection.queue.offer(event)) {
+                log.info("Dropping live score client that fell {} updates behind", CONNECTION_BUFFER);
+                connection.close();
+                // Completing waits on the emitter, which a slow client may be holding mid-write
+                writers.execute(connection.emitter::complete);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.forEach(connection -> connection.emitter.complete());
+        writers.shutdownNow();
+    }
+
+    private List<Set<ResponseBodyEmitter.DataWithMediaType>> missedSince(long lastEventId, Connection connection) {
+        List<String> history = stringRedisTemplate.opsForList().range(HISTORY_KEY, 0, -1);
+        String sequence = stringRedisTemplate.opsForValue().get(SEQUENCE_KEY);
+        long current = sequence == null ? 0 : Long.parseLong(sequence);
+        List<LiveEvent> events = history == null ? new ArrayList<>() : new ArrayList<>(history.stream().map(LiveEvent::parse).toList());
+        Collections.reverse(events);
+
+        // Behind the oldest update still kept, or ahead of a sequence that has since been reset
+        boolean gap = lastEventId < current && (events.isEmpty() || events.getFirst().id() > lastEventId + 1);
+        if (gap || lastEventId > current) {
+            connection.lastSentId = current;
+            return List.of(SseEmitter.event().id(String.valueOf(current)).name("resync").data("{}").build());
+        }
+
+        // Live updates already queued for this connection may overlap with the replay
+        connection.lastSentId = events.isEmpty() ? lastEventId : Math.max(lastEventId, events.getLast().id());
+        return events.stream()
+                .filter(event -> event.id() > lastEventId)
+                .map(LiveEvent::frame)
+                .toList();
+    }
+
+    private record LiveEvent(long id, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        static LiveEvent parse(String message) {
+            int separator = message.indexOf(' ');
+            long id = Long.parseLong(message.substring(0, separator));
+            String data = message.substring(separator + 1);
+            return new LiveEvent(id, SseEmitter.event().id(String.valueOf(id)).name("fixture").data(data, MediaType.APPLICATION_JSON).build());
+        }
+    }
+
+    private final class Connection {
+        private final SseEmitter emitter;
+        private final BlockingQueue<LiveEvent> queue = new ArrayBlockingQueue<>(CONNECTION_BUFFER);
+        private volatile boolean closed;
+        private long lastSentId;
+
+        private Connection(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void run(List<Set<ResponseBodyEmitter.DataWithMediaType>> replay) {
+            try {
+                for (Set<ResponseBodyEmitter.DataWithMediaType> frame : replay) {
+                    emitter.send(frame);
+                }
+                while (!closed) {
+                    LiveEvent event = queue.poll(HEARTBEAT_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        emitter.send(HEARTBEAT);
+                    } else if (event.id() > lastSentId) {
+                        emitter.send(event.frame());
+                        lastSentId = event.id();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter's callbacks finish the cleanup
+                close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            connections.remove(this);
+        }
+    }
+}
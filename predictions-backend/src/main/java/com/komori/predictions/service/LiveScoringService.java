@@ -0,0 +1,106 @@
+package com.komori.predictions.service;
+
+import com.komori.predictions.dto.leader.LeadershipChange;
+import com.komori.predictions.dto.request.GameStatusAndScore;
+import com.komori.predictions.dto.request.HomeAndAwayScorers;
+import com.komori.predictions.dto.settlement.SettlementPrediction;
+import com.komori.predictions.repository.SettlementRepository;
+import com.komori.predictions.scoring.MatchResult;
+import com.komori.predictions.scoring.PredictionPick;
+import com.komori.predictions.scoring.ScoringKernel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Provisional points for matches in play, as if each ended at its current score.
+ * - A match's predictions are read once, the first time it is scored, and kept in memory as flat arrays. They
+ *   can't change after kickoff, and the predictions table itself is never written.
+ * - Each goal rescores only that match. Only users whose provisional points moved are written.
+ * - LeaderboardService keeps the points already applied per user in Redis, so a new leader carries on from there,
+ *   and settlement knows exactly what to take back out when the real points land.
+ * - The in-memory points only move once Redis has taken the write; a failed rescore is redone in full next time.
+ * Transitions for one match are handled one at a time by the poller, so a match is never rescored concurrently.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LiveScoringService {
+    private final SettlementRepository settlementRepository;
+    private final LeaderboardService leaderboardService;
+    private final Map<Long, LiveMatch> matches = new ConcurrentHashMap<>();
+
+    public void rescore(long matchId, GameStatusAndScore status, HomeAndAwayScorers scorers) {
+        long start = System.nanoTime();
+        LiveMatch match = matches.get(matchId);
+        if (match == null) {
+            match = load(matchId);
+            matches.put(matchId, match);
+        }
+
+        int homeScore = status.getHomeScore() == null ? 0 : status.getHomeScore();
+        int awayScore = status.getAwayScore() == null ? 0 : status.getAwayScore();
+        ScoringKernel kernel = new ScoringKernel(new MatchResult(homeScore, awayScore, scorers.homeScorers(), scorers.awayScorers()));
+        int[] points = new int[match.userIds.length];
+        Map<Long, Integer> changed = new HashMap<>();
+        for (int i = 0; i < match.userIds.length; i++) {
+            points[i] = kernel.score(match.picks[i]).total();
+            if (points[i] != match.points[i]) {
+                changed.put(match.userIds[i], points[i]);
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            leaderboardService.applyLivePoints(matchId, changed);
+            System.arraycopy(points, 0, match.points, 0, points.length);
+        }
+        log.info("Rescored {} predictions for match {} at {}-{}: {} changed in {} ms", match.userIds.length, matchId,
+                homeScore, awayScore, changed.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Called once a match is settled; safe to repeat
+    public void confirm(long matchId) {
+        matches.remove(matchId);
+        if (!leaderboardService.confirmLivePoints(matchId)) {
+            return;
+        }
+        log.info("Replaced provisional points for match {} with settled points", matchId);
+    }
+
+    // Another leader may have moved the points on since; it will reload from Redis if this node leads again
+    @EventListener
+    public void onLeadershipChange(LeadershipChange change) {
+        if (!change.leader()) {
+            matches.clear();
+        }
+    }
+
+    private LiveMatch load(long matchId) {
+        List<SettlementPrediction> predictions = settlementRepository.findUnsettledPredictions(matchId);
+        Map<Long, Integer> applied = leaderboardService.getAppliedLivePoints(matchId);
+        LiveMatch match = new LiveMatch(predictions.size());
+        for (int i = 0; i < predictions.size(); i++) {
+            SettlementPrediction prediction = predictions.get(i);
+            match.userIds[i] = prediction.userId();
+            match.picks[i] = prediction.pick();
+            match.points[i] = applied.getOrDefault(prediction.userId(), 0);
+        }
+        return match;
+    }
+
+    private static final class LiveMatch {
+        private final long[] userIds;
+        private final PredictionPick[] picks;
+        private final int[] points;
+
+        private LiveMatch(int size) {
+            this.userIds = new long[size];
+            this.picks = new PredictionPick[size];
+            this.points = new int[size];
+        }
+    }
+}
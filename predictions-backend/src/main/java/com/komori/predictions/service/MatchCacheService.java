@@ -0,0 +1,110 @@
+package com.komori.predictions.service;
+
+import com.komori.predictions.entity.MatchEntity;
+import com.komori.predictions.repository.MatchRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/*
+ * Read-through cache of finished matches keyed by matchId, held on every node and bounded with LRU eviction.
+ * A result can be recorded again after a correction, so put announces the match on matches:changed and every
+ * node drops its copy. A load that started before a drop isn't cached, so it can't put the old row back.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MatchCacheService implements MessageListener {
+    private static final int CAPACITY = 1024;
+    private static final String CHANNEL = "matches:changed";
+    private final MatchRepository matchRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final Map<Long, MatchEntity> matches = new LinkedHashMap<>(CAPACITY, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, MatchEntity> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+    private long drops;
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public MatchEntity getMatch(Long matchId) {
+        return getMatches(List.of(matchId)).get(matchId);
+    }
+
+    public Map<Long, MatchEntity> getMatches(Collection<Long> matchIds) {
+        Map<Long, MatchEntity> found = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        long dropsBefore;
+        synchronized (matches) {
+            dropsBefore = drops;
+            for (Long matchId : matchIds) {
+                MatchEntity match = matches.get(matchId);
+                if (match != null) {
+                    found.put(matchId, match);
+                } else {
+                    missing.add(matchId);
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            List<MatchEntity> loaded = matchRepository.findAllByMatchIdIn(missing);
+            synchronized (matches) {
+                if (drops == dropsBefore) {
+                    loaded.forEach(match -> matches.put(match.getMatchId(), match));
+                }
+            }
+            loaded.forEach(match -> found.put(match.getMatchId(), match));
+        }
+        return found;
+    }
+
+    public void put(MatchEntity match) {
+        synchronized (matches) {
+            matches.put(match.getMatchId(), match);
+        }
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, String.valueOf(match.getMatchId()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to announce match {} changed: {}", match.getMatchId(), e.getMessage());
+        }
+    }
+
+    // This node's own put comes back here too; the fresh row is simply read again on next use
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        long matchId = Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8));
+        synchronized (matches) {
+            matches.remove(matchId);
+            drops++;
+        }
+    }
+
+    public void warm() {
+        List<MatchEntity> recent = matchRepository.findAll(PageRequest.of(0, CAPACITY, Sort.by(Sort.Direction.DESC, "id"))).getContent();
+        synchronized (matches) {
+            // Oldest first so the most recent matches end up least likely to be evicted
+            for (int i = recent.size() - 1; i >= 0; i--) {
+                matches.put(recent.get(i).getMatchId(), recent.get(i));
+            }
+        }
+        log.info("Warmed match cache with {} matches", recent.size());
+    }
+}
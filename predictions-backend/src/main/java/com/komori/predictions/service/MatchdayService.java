@@ -1,29 +1,130 @@
 package com.komori.predictions.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * The current matchday only changes once a gameweek, so every node keeps it in memory.
+ * - setCurrentMatchday publishes the new value on matchday:changed, and every node swaps it in straight away.
+ * - The held value is still re-read from Redis every few minutes, in case a change went out while this node was
+ *   cut off from the channel. Only one reader does the refresh; the rest carry on with the value they have.
+ * - If Redis can't be reached, or the key has gone, the last value keeps being served and the refresh is tried again shortly.
+ * - A refresh only replaces the value it started from. If a change was announced while it read Redis, the announced
+ *   value stays, so a slow read can never put an older matchday back.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class MatchdayService {
+public class MatchdayService implements MessageListener {
+    private static final String MATCHDAY_KEY = "currentMatchday";
+    private static final String CHANNEL = "matchday:changed";
+    private static final Duration REFRESH_INTERVAL = Duration.ofMinutes(5);
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(10);
     private final RedisTemplate<String, Object> redisGeneralTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final AtomicReference<Cached> cached = new AtomicReference<>();
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
 
     public int getCurrentMatchday() {
-        Object value = redisGeneralTemplate.opsForValue().get("currentMatchday");
+        Cached current = cached.get();
+        if (current != null && current.refreshAt - System.nanoTime() > 0) {
+            return current.matchday;
+        }
+        // Someone else is already refreshing; the held value is good enough until they're done
+        if (current != null && !refreshLock.tryLock()) {
+            return current.matchday;
+        }
+        if (current == null) {
+            refreshLock.lock();
+        }
+
+        try {
+            return refresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public void setCurrentMatchday(int matchday) {
+        redisGeneralTemplate.opsForValue().set(MATCHDAY_KEY, matchday);
+        cached.set(new Cached(matchday, refreshAt(REFRESH_INTERVAL)));
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, String.valueOf(matchday));
+        } catch (RuntimeException e) {
+            // Other nodes pick the new value up on their next refresh
+            log.warn("Failed to announce matchday {}: {}", matchday, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        int matchday = Integer.parseInt(new String(message.getBody(), StandardCharsets.UTF_8));
+        cached.set(new Cached(matchday, refreshAt(REFRESH_INTERVAL)));
+        log.info("Current matchday changed to {}", matchday);
+    }
+
+    private int refresh() {
+        Cached current = cached.get();
+        // Refreshed by another reader while this one waited for the lock
+        if (current != null && current.refreshAt - System.nanoTime() > 0) {
+            return current.matchday;
+        }
+
+        Object value;
+        try {
+            value = redisGeneralTemplate.opsForValue().get(MATCHDAY_KEY);
+        } catch (RuntimeException e) {
+            if (current == null) {
+                throw e;
+            }
+            log.warn("Failed to refresh current matchday, keeping {}: {}", current.matchday, e.getMessage());
+            return replace(current, current.matchday, RETRY_INTERVAL);
+        }
+
         if (value instanceof Integer) {
-            return (int) value;
+            return replace(current, (int) value, REFRESH_INTERVAL);
         } else if (value instanceof String) {
-            return Integer.parseInt((String) value);
+            return replace(current, Integer.parseInt((String) value), REFRESH_INTERVAL);
+        } else if (current != null) {
+            log.error("Current matchday not set in Redis, keeping {}", current.matchday);
+            return replace(current, current.matchday, RETRY_INTERVAL);
         } else {
             log.error("Current matchday not set in Redis");
             throw new RuntimeException("Current matchday not set in Redis");
         }
     }
 
-    public void setCurrentMatchday(int matchday) {
-        redisGeneralTemplate.opsForValue().set("currentMatchday", matchday);
+    // Loses to a value announced since the refresh started
+    private int replace(Cached expected, int matchday, Duration ttl) {
+        if (cached.compareAndSet(expected, new Cached(matchday, refreshAt(ttl)))) {
+            return matchday;
+        }
+        return cached.get().matchday;
+    }
+
+    private static long refreshAt(Duration ttl) {
+        return System.nanoTime() + ttl.toNanos();
+    }
+
+    private record Cached(int matchday, long refreshAt) {
     }
 }
@@ -0,0 +1,75 @@
+package com.komori.predictions.service;
+
+import com.komori.predictions.dto.enumerated.GameStatus;
+import com.komori.predictions.dto.request.GameStatusAndScore;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * How long a watched fixture can go without a status poll, based on how far into the match it is.
+ * - Normal play is polled every few minutes.
+ * - Half-time is skipped entirely: the next poll lands when the second half is due.
+ * - The last minutes and the expected full-time window are polled tightly, so results settle quickly.
+ * - Delays never run past the start of the next phase.
+ * - Jitter goes on once, to the delay actually used. Jittering each fixture before taking the soonest would pull
+ *   every poll towards the low end of the range.
+ */
+public final class PollCadence {
+    static final Duration MIN_DELAY = Duration.ofSeconds(30);
+    private static final Duration PRE_KICKOFF_INTERVAL = Duration.ofMinutes(1);
+    private static final Duration NORMAL_INTERVAL = Duration.ofMinutes(3);
+    private static final Duration FINAL_INTERVAL = Duration.ofSeconds(40);
+    private static final Duration OVERDUE_INTERVAL = Duration.ofMinutes(1);
+    // Elapsed time since kickoff, allowing for stoppage time and a 15 minute break
+    private static final Duration HALF_TIME_START = Duration.ofMinutes(48);
+    private static final Duration SECOND_HALF_START = Duration.ofMinutes(62);
+    private static final Duration FINAL_WINDOW_START = Duration.ofMinutes(88);
+    private static final Duration FINAL_WINDOW_END = Duration.ofMinutes(118);
+    private static final double JITTER = 0.1;
+
+    private PollCadence() {
+    }
+
+    public static Duration nextDelay(GameStatusAndScore lastSeen, Instant kickoff, Instant now) {
+        Duration elapsed = Duration.between(kickoff, now);
+        boolean live = lastSeen != null && lastSeen.getGameStatus() == GameStatus.LIVE;
+
+        Duration delay;
+        if (!live) {
+            // Not started yet, or started late: check again shortly
+            delay = PRE_KICKOFF_INTERVAL;
+        } else if (elapsed.compareTo(HALF_TIME_START) < 0) {
+            delay = capAt(NORMAL_INTERVAL, elapsed, HALF_TIME_START);
+        } else if (elapsed.compareTo(SECOND_HALF_START) < 0) {
+            delay = SECOND_HALF_START.minus(elapsed);
+        } else if (elapsed.compareTo(FINAL_WINDOW_START) < 0) {
+            delay = capAt(NORMAL_INTERVAL, elapsed, FINAL_WINDOW_START);
+        } else if (elapsed.compareTo(FINAL_WINDOW_END) < 0) {
+            delay = FINAL_INTERVAL;
+        } else {
+            delay = OVERDUE_INTERVAL;
+        }
+
+        return delay;
+    }
+
+    public static Duration jittered(Duration delay) {
+        return max(jitter(delay), MIN_DELAY);
+    }
+
+    private static Duration capAt(Duration interval, Duration elapsed, Duration boundary) {
+        Duration untilBoundary = boundary.minus(elapsed);
+        return untilBoundary.compareTo(interval) < 0 ? untilBoundary : interval;
+    }
+
+    private static Duration jitter(Duration delay) {
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-JITTER, JITTER);
+        return Duration.ofMillis((long) (delay.toMillis() * factor));
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
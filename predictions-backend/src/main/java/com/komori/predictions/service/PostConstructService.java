@@ -1,5 +1,6 @@
 package com.komori.predictions.service;
 
+import com.komori.predictions.dto.leader.LeadershipChange;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
@@ -7,23 +8,60 @@ import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+// Jobs that write shared state only run on the scheduler leader; every node still warms its own caches
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PostConstructService {
     private final APIService apiService;
     private final FixtureSchedulerService fixtureSchedulerService;
+    private final LeaderboardService leaderboardService;
+    private final MatchCacheService matchCacheService;
+    private final LeaderElectionService leaderElectionService;
 
     @Scheduled(cron = "0 0 0 * * *")
     public void updateUpcomingFixturesDaily() {
+        if (!leaderElectionService.isLeader()) {
+            return;
+        }
         log.info("Updating fixtures...");
         apiService.updateFixtures();
         log.info("Scheduling matches for the day...");
         fixtureSchedulerService.scheduleFixturesForTheDay();
     }
 
+    @Scheduled(cron = "0 0 4 * * *")
+    public void syncSquadsDaily() {
+        if (!leaderElectionService.isLeader()) {
+            return;
+        }
+        log.info("Syncing squads...");
+        apiService.syncSquads();
+    }
+
+    @Scheduled(cron = "0 30 4 * * *")
+    public void rebuildLeaderboardsNightly() {
+        if (!leaderElectionService.isLeader()) {
+            return;
+        }
+        log.info("Rebuilding leaderboards...");
+        leaderboardService.rebuildAll();
+    }
+
     @EventListener(ApplicationReadyEvent.class)
-    public void scheduleFixturesForTheDayOnStartup() {
+    public void warmCachesOnStartup() {
+        log.info("Warming match cache...");
+        matchCacheService.warm();
+    }
+
+    @EventListener
+    public void onLeadershipChange(LeadershipChange change) {
+        if (!change.leader()) {
+            log.info("Handing fixture watching over to the new leader...");
+            fixtureSchedulerService.stopWatching();
+            return;
+        }
+
         log.info("Checking that players are in database...");
         apiService.loadPlayersIntoDatabase();
         log.info("Scheduling matches for the day...");
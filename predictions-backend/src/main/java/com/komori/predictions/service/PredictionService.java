@@ -1,46 +1,57 @@
 package com.komori.predictions.service;
 
-import com.komori.predictions.dto.enumerated.Chip;
-import com.komori.predictions.dto.enumerated.PredictionStatus;
+import com.komori.predictions.dto.enumerated.GameStatus;
 import com.komori.predictions.dto.request.PredictionRequest;
+import com.komori.predictions.dto.response.Fixture;
 import com.komori.predictions.dto.response.UserPrediction;
 import com.komori.predictions.entity.MatchEntity;
 import com.komori.predictions.entity.PredictionEntity;
 import com.komori.predictions.entity.UserEntity;
-import com.komori.predictions.entity.UserLeagueEntity;
+import com.komori.predictions.exception.PredictionClosedException;
 import com.komori.predictions.repository.MatchRepository;
 import com.komori.predictions.repository.PredictionRepository;
 import com.komori.predictions.repository.UserLeagueRepository;
 import com.komori.predictions.repository.UserRepository;
+import com.komori.predictions.repository.UserStatisticsRepository;
+import com.komori.predictions.scoring.MatchResult;
+import com.komori.predictions.scoring.PredictionPick;
+import com.komori.predictions.scoring.ScoringKernel;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
-import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
-@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PredictionService {
     private final PredictionRepository predictionRepository;
     private final UserRepository userRepository;
-    private final MatchRepository matchRepository;
-    private final UserLeagueRepository userLeagueRepository;
+    private final MatchCacheService matchCacheService;
     private final ChipService chipService;
+    private final UserLeagueRepository userLeagueRepository;
+    private final LeaguePredictionCacheService leaguePredictionCacheService;
+    private final UserStatisticsRepository userStatisticsRepository;
+    private final FixtureStore fixtureStore;
+    private final MatchRepository matchRepository;
 
     public List<UserPrediction> getPredictionsForUser(String email) {
         List<PredictionEntity> predictionEntities = predictionRepository.findAllByUser_Email(email);
         if (predictionEntities.isEmpty()) return new ArrayList<>();
 
+        Map<Long, MatchEntity> matches = matchCacheService.getMatches(predictionEntities.stream()
+                .map(PredictionEntity::getMatchId)
+                .toList());
         List<UserPrediction> userPredictions = new ArrayList<>();
         predictionEntities.forEach(p -> {
-            MatchEntity match = matchRepository.findByMatchId(p.getMatchId());
+            MatchEntity match = matches.get(p.getMatchId());
             if (match != null) {
                 userPredictions.add(new UserPrediction(match, p));
             } else {
@@ -50,14 +61,23 @@ public class PredictionService {
         return userPredictions;
     }
 
+    @Transactional
     public void makePrediction(String email, PredictionRequest request) {
         UserEntity user = userRepository.findByEmail(email)
                         .orElseThrow(() -> new UsernameNotFoundException("Email not found"));
+        Optional<Fixture> fixture = request.getMatchId() == null ? Optional.empty() : fixtureStore.getFixture(request.getMatchId());
+        checkOpen(request.getMatchId(), fixture);
 
         PredictionEntity prediction = predictionRepository.findByMatchIdAndUser_Email(request.getMatchId(), email);
         if (prediction == null) {
-            predictionRepository.saveAndFlush(new PredictionEntity(user, request));
+            prediction = predictionRepository.saveAndFlush(new PredictionEntity(user, request));
+            userStatisticsRepository.countPredictionDay(prediction.getId(), 1, 1);
+            userStatisticsRepository.countPredictionTeams(prediction.getId());
+            userStatisticsRepository.countPredictionMonth(prediction.getId(), 1);
         } else {
+            // An edit moves the prediction to the day and month it was last changed
+            userStatisticsRepository.countPredictionDay(prediction.getId(), 0, -1);
+            userStatisticsRepository.countPredictionMonth(prediction.getId(), -1);
             prediction.setDate(Instant.now());
             prediction.setHomeScore(request.getHomeScore());
             prediction.setAwayScore(request.getAwayScore());
@@ -65,150 +85,57 @@ public class PredictionService {
             prediction.setAwayScorers(request.getAwayScorers());
             prediction.setChips(request.getChips());
             predictionRepository.saveAndFlush(prediction);
+            userStatisticsRepository.countPredictionDay(prediction.getId(), 0, 1);
+            userStatisticsRepository.countPredictionMonth(prediction.getId(), 1);
         }
         chipService.updateChipStatusAfterNewPrediction(email, request);
+        Integer gameweek = request.getGameweek() != null ? request.getGameweek() : fixture.map(Fixture::getGameweek).orElse(null);
+        List<String> leagueUuids = userLeagueRepository.findLeagueUuidsByUserId(user.getId());
+        afterCommit(() -> evictLeaguePredictions(leagueUuids, gameweek));
     }
 
-    @Transactional
-    public void updateDatabaseAfterGame(MatchEntity match) {
-        log.info("DB transaction started...");
-        List<PredictionEntity> predictions = predictionRepository.findAllByMatchId(match.getMatchId());
-        for (PredictionEntity prediction : predictions) {
-            UserEntity user = prediction.getUser();
-            int points = getPredictionScore(user.getEmail(), match.getMatchId());
-            boolean correct = isPredictionCorrect(prediction, match);
-
-            // Update prediction
-            prediction.setPoints(points);
-            prediction.setCorrect(correct);
-            prediction.setStatus(PredictionStatus.COMPLETED);
-
-            // Update user total
-            user.setTotalPoints(user.getTotalPoints() + points);
-
-            // Update league entries
-            List<UserLeagueEntity> userLeagueEntities = user.getLeagues();
-            for (UserLeagueEntity entity : userLeagueEntities) {
-                entity.setPoints(entity.getPoints() + points);
-            }
-            userLeagueRepository.saveAll(userLeagueEntities);
-        }
-
-        predictionRepository.saveAll(predictions);
-        log.info("Database updated for {} vs {}", match.getHomeTeam(), match.getAwayTeam());
-    }
-
-    // Scoring System
-    public Integer getPredictionScore(String email, long matchId) {
-        MatchEntity match = matchRepository.findByMatchId(matchId);
-        PredictionEntity prediction = predictionRepository.findByMatchIdAndUser_Email(matchId, email);
-
-        int points = 0;
-        int actualHome = match.getHomeScore();
-        int actualAway = match.getAwayScore();
-        int predHome = prediction.getHomeScore();
-        int predAway = prediction.getAwayScore();
-        List<String> actualHomeScorers = match.getHomeScorers();
-        List<String> actualAwayScorers = match.getAwayScorers();
-        List<String> predHomeScorers = prediction.getHomeScorers();
-        List<String> predAwayScorers = prediction.getAwayScorers();
-        List<Chip> chips = prediction.getChips();
-
-        // Base points
-        boolean correctScoreline = (actualHome == predHome) && (actualAway == predAway);
-        boolean correctDraw = (actualHome == actualAway) && (predHome == predAway);
-        boolean correctWinner = (Integer.compare(actualHome, actualAway)) == (Integer.compare(predHome, predAway));
-
-        if (correctScoreline && scorersMatchExactly(actualHomeScorers, actualAwayScorers,
-                predHomeScorers, predAwayScorers)) {
-            points = 15;
-        } else if (correctScoreline) {
-            points = 10;
-        } else if (correctDraw) {
-            points = 7;
-        } else if (correctWinner) {
-            points = 5;
-        }
-
-        // Goalscorer points
-        int correctScorers = countCorrectScorers(actualHomeScorers, actualAwayScorers, predHomeScorers, predAwayScorers);
-        if (chips.contains(Chip.SCORER_FOCUS)) {
-            points += 4 * correctScorers;
+    // Without a gameweek to go on, every gameweek of the user's leagues goes
+    private void evictLeaguePredictions(List<String> leagueUuids, Integer gameweek) {
+        if (gameweek != null) {
+            leaguePredictionCacheService.evict(leagueUuids, gameweek);
         } else {
-            points += 2 * correctScorers;
+            leagueUuids.forEach(leaguePredictionCacheService::evictLeague);
         }
-
-        // Goal difference penalty
-        int goalDifference = Math.abs((actualHome + actualAway) - (predHome + predAway));
-        if (goalDifference > 2) {
-            points -= goalDifference - 2;
-        }
-
-        // Total
-        if (chips.contains(Chip.WILDCARD)) {
-            points *= 3;
-        }
-        if (chips.contains(Chip.DOUBLE_DOWN)) {
-            points *= 2;
-        }
-        if (chips.contains(Chip.ALL_IN_WEEK)) {
-            points *= 2;
-        }
-        if (chips.contains(Chip.DEFENSE_PLUS_PLUS)) {
-            points += 5 * cleanSheetsPredicted(predHome, actualHome, predAway, actualAway);
-        }
-
-        return points;
     }
 
-    private boolean scorersMatchExactly(List<String> actualHomeScorers, List<String> actualAwayScorers, List<String> predHomeScorers, List<String> predAwayScorers) {
-        if (actualHomeScorers.size() != predHomeScorers.size() || actualAwayScorers.size() != predAwayScorers.size()) {
-            return false;
+    // Evicting before the commit would let a reader cache the rows as they were
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
         }
 
-        Map<String, Long> actualHomeMap = actualHomeScorers.stream()
-                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
-        Map<String, Long> actualAwayMap = actualAwayScorers.stream()
-                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
-        Map<String, Long> predHomeMap = predHomeScorers.stream()
-                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
-        Map<String, Long> predAwayMap = predAwayScorers.stream()
-                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
-
-        return actualHomeMap.equals(predHomeMap) && actualAwayMap.equals(predAwayMap);
-    }
-
-    private int countCorrectScorers(List<String> actualHomeScorers, List<String> actualAwayScorers, List<String> predHomeScorers, List<String> predAwayScorers) {
-        List<String> actualScorers = Stream.concat(actualHomeScorers.stream(), actualAwayScorers.stream()).toList();
-        List<String> predScorers = Stream.concat(predHomeScorers.stream(), predAwayScorers.stream()).toList();
-
-        Map<String, Long> actualScorerMap = actualScorers.stream()
-                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
-
-        int totalCount = 0;
-        for (String scorer : predScorers) {
-            if (actualScorerMap.get(scorer) != null && actualScorerMap.get(scorer) > 0) {
-                totalCount++;
-                actualScorerMap.put(scorer, actualScorerMap.get(scorer) - 1);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
             }
-        }
-
-        return totalCount;
+        });
     }
 
-    private boolean isPredictionCorrect(PredictionEntity prediction, MatchEntity match) {
-        return (Objects.equals(prediction.getHomeScore(), match.getHomeScore())) && (Objects.equals(prediction.getAwayScore(), match.getAwayScore()));
+    // Predictions close at kickoff. A recorded result closes the match too, in case the fixture store has lost it
+    private void checkOpen(Long matchId, Optional<Fixture> fixture) {
+        boolean started = fixture
+                .map(stored -> stored.getStatus() != GameStatus.TIMED
+                        || (stored.getDate() != null && !stored.getDate().toInstant().isAfter(Instant.now())))
+                .orElse(false);
+        if (started || matchRepository.existsByMatchId(matchId)) {
+            throw new PredictionClosedException();
+        }
     }
 
-    private int cleanSheetsPredicted(int predHome, int actualHome, int predAway, int actualAway) {
-        int cleanSheets = 0;
-        if (predHome == 0 && actualHome == 0) {
-            cleanSheets++;
-        }
-        if (predAway == 0 && actualAway == 0) {
-            cleanSheets++;
-        }
+    // Scoring System
+    public Integer getPredictionScore(String email, long matchId) {
+        MatchEntity match = matchCacheService.getMatch(matchId);
+        PredictionEntity prediction = predictionRepository.findByMatchIdAndUser_Email(matchId, email);
 
-        return cleanSheets;
+        PredictionPick pick = PredictionPick.of(prediction.getHomeScore(), prediction.getAwayScore(),
+                prediction.getHomeScorers(), prediction.getAwayScorers(), prediction.getChips());
+        return new ScoringKernel(MatchResult.of(match)).score(pick).total();
     }
 }
@@ -4,15 +4,14 @@ import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.CannedAccessControlList;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
-import com.komori.predictions.dto.projection.BestGameweekProjection;
 import com.komori.predictions.dto.projection.MonthlyPerformanceProjection;
-import com.komori.predictions.dto.projection.MostActiveDayProjection;
 import com.komori.predictions.dto.projection.TeamPerformanceProjection;
 import com.komori.predictions.dto.response.*;
 import com.komori.predictions.entity.UserEntity;
+import com.komori.predictions.entity.UserStatisticsEntity;
 import com.komori.predictions.exception.PasswordMismatchException;
-import com.komori.predictions.repository.PredictionRepository;
 import com.komori.predictions.repository.UserRepository;
+import com.komori.predictions.repository.UserStatisticsRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -21,18 +20,18 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class ProfileService {
+    private static final List<String> BIG_SIX = List.of("Arsenal", "Chelsea", "Liverpool", "Man City", "Man United", "Tottenham");
     @Value("${aws.s3.bucket}")
     private String bucketName;
     private final AmazonS3 amazonS3;
     private final EmailService emailService;
     private final UserRepository userRepository;
-    private final PredictionRepository predictionRepository;
+    private final UserStatisticsRepository userStatisticsRepository;
     private final PasswordEncoder passwordEncoder;
 
     public ProfileOverview viewProfile(String email) {
@@ -43,8 +42,8 @@ public class ProfileService {
     }
 
     public StatsHighlights getStatsHighlights(String email) {
-        BestGameweekProjection gameweekProjection = predictionRepository.getBestGameweek(email);
-        if (gameweekProjection == null) {
+        Optional<UserStatisticsEntity> statistics = userStatisticsRepository.findByEmail(email);
+        if (statistics.isEmpty() || statistics.get().getPredictionsMade() == 0) {
             return StatsHighlights.builder()
                     .bestGameweek(StatsHighlights.StatsHighlightsGameweek.builder()
                             .gameweek("None")
@@ -61,15 +60,15 @@ public class ProfileService {
                     .build();
         }
 
-        MostActiveDayProjection dayProjection = predictionRepository.getMostActiveDay(email);
+        UserStatisticsEntity stats = statistics.get();
         return StatsHighlights.builder()
                 .bestGameweek(StatsHighlights.StatsHighlightsGameweek.builder()
-                        .gameweek("GW" + gameweekProjection.getGameweek())
-                        .points(gameweekProjection.getPoints())
+                        .gameweek(stats.getBestGameweek() == null ? "None" : "GW" + stats.getBestGameweek())
+                        .points(stats.getBestGameweekPoints() == null ? 0 : stats.getBestGameweekPoints())
                         .build())
                 .mostActiveDay(StatsHighlights.StatsHighlightsDay.builder()
-                        .day(dayProjection.getDay())
-                        .percentage((double) Math.round(dayProjection.getPercentage() * 100.0 / 100.0))
+                        .day(stats.getMostActiveDay())
+                        .percentage((double) Math.round(stats.getMostActiveDayPercentage() * 100.0 / 100.0))
                         .build())
                 .favoriteFixture(StatsHighlights.StatsHighlightsFixture.builder()
                         .fixture("Coming soon")
@@ -79,38 +78,39 @@ public class ProfileService {
     }
 
     public StatsTeamPerformance getTeamPerformance(String email) {
-        List<TeamPerformanceProjection> projections = predictionRepository.getTeamPerformanceByEmail(email);
+        Map<String, TeamPerformanceProjection> byTeam = new HashMap<>();
+        userStatisticsRepository.findTeamPerformanceByEmail(email)
+                .forEach(projection -> byTeam.put(projection.getTeam(), projection));
+
+        // Only the Big Six, zero-filled, so every entry maps onto Team
+        List<StatsTeamPerformance.TeamPerformance> data = new ArrayList<>();
+        for (String team : BIG_SIX) {
+            TeamPerformanceProjection projection = byTeam.get(team);
+            data.add(projection == null
+                    ? new StatsTeamPerformance.TeamPerformance(team, 0, 0, 0)
+                    : new StatsTeamPerformance.TeamPerformance(projection));
+        }
 
         return StatsTeamPerformance.builder()
-                .data(List.of(
-                        new StatsTeamPerformance.TeamPerformance(projections.getFirst()),
-                        new StatsTeamPerformance.TeamPerformance(projections.get(1)),
-                        new StatsTeamPerformance.TeamPerformance(projections.get(2)),
-                        new StatsTeamPerformance.TeamPerformance(projections.get(3)),
-                        new StatsTeamPerformance.TeamPerformance(projections.get(4)),
-                        new StatsTeamPerformance.TeamPerformance(projections.getLast())
-                ))
+                .data(data)
                 .build();
     }
 
     public StatsMonthlyPerformance getMonthlyPerformance(String email) {
-        List<MonthlyPerformanceProjection> projections = predictionRepository.getMonthlyPerformance(email);
+        MonthlyPerformanceProjection[] byMonth = new MonthlyPerformanceProjection[12];
+        userStatisticsRepository.findMonthlyPerformanceByEmail(email)
+                .forEach(projection -> byMonth[projection.getMonth() - 1] = projection);
+
+        List<StatsMonthlyPerformance.MonthlyPerformance> data = new ArrayList<>(12);
+        for (int month = 1; month <= 12; month++) {
+            MonthlyPerformanceProjection projection = byMonth[month - 1];
+            data.add(projection == null
+                    ? new StatsMonthlyPerformance.MonthlyPerformance(month, 0, 0, 0)
+                    : new StatsMonthlyPerformance.MonthlyPerformance(projection));
+        }
 
         return StatsMonthlyPerformance.builder()
-                .data(List.of(
-                        new StatsMonthlyPerformance.MonthlyPerformance(projections.getFirst()),
-                        new StatsMonthlyPerformance.MonthlyPerformance(projections.get(1)),
-                        new StatsMonthlyPerformance.MonthlyPerformance(projections.get(2)),
-                        new StatsMonthlyPerformance.MonthlyPerformance(projections.get(3)),
-                        new StatsMonthlyPerformance.MonthlyPerformance(projections.get(4)),
-                        new StatsMonthlyPerformance.MonthlyPerformance(projections.get(5)),
-                        new StatsMonthlyPerformance.MonthlyPerformance(projections.get(6)),
-                        new StatsMonthlyPerformance.MonthlyPerformance(projections.get(7)),
-                        new StatsMonthlyPerformance.MonthlyPerformance(projections.get(8)),
-                        new StatsMonthlyPerformance.MonthlyPerformance(projections.get(9)),
-                        new StatsMonthlyPerformance.MonthlyPerformance(projections.get(10)),
-                        new StatsMonthlyPerformance.MonthlyPerformance(projections.getLast())
-                ))
+                .data(data)
                 .build();
     }
 
@@ -0,0 +1,51 @@
+package com.komori.predictions.service;
+
+import com.komori.predictions.dto.settlement.SettlementJob;
+import com.komori.predictions.entity.MatchEntity;
+import com.komori.predictions.repository.MatchRepository;
+import com.komori.predictions.repository.SettlementJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/*
+ * Settlement as a durable job per match.
+ * - A finished match is saved together with its job, so a result is never recorded without its points being owed.
+ * - A job is settled and marked done in the same transaction as the points it writes, so however many times it is
+ *   delivered, its points are only ever awarded once.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SettlementJobService {
+    private final MatchRepository matchRepository;
+    private final SettlementJobRepository settlementJobRepository;
+    private final SettlementService settlementService;
+
+    // Saving the same match again (a retry, or a new leader catching up) updates it in place
+    @Transactional
+    public MatchEntity recordResult(MatchEntity result) {
+        matchRepository.findByMatchId(result.getMatchId()).ifPresent(existing -> result.setId(existing.getId()));
+        MatchEntity saved = matchRepository.saveAndFlush(result);
+        settlementJobRepository.enqueue(saved.getMatchId());
+        return saved;
+    }
+
+    public boolean hasResult(long matchId) {
+        return matchRepository.existsByMatchId(matchId);
+    }
+
+    @Transactional
+    public void settle(SettlementJob job, long fencingToken) {
+        if (!settlementJobRepository.lockPending(job.matchId())) {
+            log.info("Match {} was already settled", job.matchId());
+            return;
+        }
+
+        MatchEntity match = matchRepository.findByMatchId(job.matchId())
+                .orElseThrow(() -> new IllegalStateException("No result recorded for match " + job.matchId()));
+        settlementService.settleMatch(match, fencingToken);
+        settlementJobRepository.complete(job.matchId());
+    }
+}
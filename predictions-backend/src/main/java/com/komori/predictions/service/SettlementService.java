@@ -0,0 +1,109 @@
+package com.komori.predictions.service;
+
+import com.komori.predictions.dto.settlement.LeaguePointsUpdate;
+import com.komori.predictions.dto.settlement.SettlementPrediction;
+import com.komori.predictions.dto.settlement.SettlementResult;
+import com.komori.predictions.dto.settlement.UserPointsUpdate;
+import com.komori.predictions.entity.MatchEntity;
+import com.komori.predictions.exception.StaleLeaderException;
+import com.komori.predictions.repository.LeaderFenceRepository;
+import com.komori.predictions.repository.SettlementRepository;
+import com.komori.predictions.scoring.MatchResult;
+import com.komori.predictions.scoring.ScoreBreakdown;
+import com.komori.predictions.scoring.ScoringKernel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SettlementService {
+    private final SettlementRepository settlementRepository;
+    private final LeaderFenceRepository leaderFenceRepository;
+    private final LeaderboardService leaderboardService;
+    private final LeaguePredictionCacheService leaguePredictionCacheService;
+
+    @Transactional
+    public SettlementResult settleMatch(MatchEntity match, long fencingToken) {
+        long start = System.nanoTime();
+        // Checked first, so a new leader can't take over between reading and writing this match's points
+        if (!leaderFenceRepository.isCurrent(fencingToken)) {
+            throw new StaleLeaderException();
+        }
+        log.info("Settling {} vs {}...", match.getHomeTeam(), match.getAwayTeam());
+
+        List<SettlementPrediction> predictions = settlementRepository.findUnsettledPredictions(match.getMatchId());
+        int size = predictions.size();
+        ScoringKernel kernel = new ScoringKernel(MatchResult.of(match));
+
+        Long[] predictionIds = new Long[size];
+        Integer[] points = new Integer[size];
+        Boolean[] correct = new Boolean[size];
+        Long[] userIds = new Long[size];
+        Integer[] userPoints = new Integer[size];
+        int scoringUsers = 0;
+
+        for (int i = 0; i < size; i++) {
+            SettlementPrediction prediction = predictions.get(i);
+            ScoreBreakdown breakdown = kernel.score(prediction.pick());
+            int score = breakdown.total();
+
+            predictionIds[i] = prediction.id();
+            points[i] = score;
+            correct[i] = breakdown.correct();
+
+            // Users on zero don't need their totals touching
+            if (score != 0) {
+                userIds[scoringUsers] = prediction.userId();
+                userPoints[scoringUsers] = score;
+                scoringUsers++;
+            }
+        }
+
+        int rowsWritten = 0;
+        if (size > 0) {
+            rowsWritten += settlementRepository.completePredictions(predictionIds, points, correct);
+            rowsWritten += settlementRepository.updateUserStatistics(predictionIds);
+            afterCommit(() -> leaguePredictionCacheService.invalidateGameweek(match.getGameweek()));
+        }
+        if (scoringUsers > 0) {
+            Long[] scoringUserIds = Arrays.copyOf(userIds, scoringUsers);
+            Integer[] scoringPoints = Arrays.copyOf(userPoints, scoringUsers);
+            List<UserPointsUpdate> userUpdates = settlementRepository.addUserPoints(scoringUserIds, scoringPoints);
+            List<LeaguePointsUpdate> leagueUpdates = settlementRepository.addLeaguePoints(scoringUserIds, scoringPoints);
+            rowsWritten += userUpdates.size() + leagueUpdates.size();
+
+            afterCommit(() -> {
+                leaderboardService.applyGlobalPoints(userUpdates);
+                leaderboardService.applyLeaguePoints(leagueUpdates);
+            });
+        }
+
+        SettlementResult result = new SettlementResult(match.getMatchId(), size, rowsWritten, (System.nanoTime() - start) / 1_000_000);
+        log.info("Settled {} vs {}: {} predictions, {} rows written in {} ms", match.getHomeTeam(), match.getAwayTeam(),
+                result.predictionsSettled(), result.rowsWritten(), result.durationMillis());
+        return result;
+    }
+
+    // Leaderboards only move once the points are actually committed
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,138 @@
+package com.komori.predictions.service;
+
+import com.komori.predictions.dto.leader.LeadershipChange;
+import com.komori.predictions.dto.settlement.SettlementJob;
+import com.komori.predictions.exception.StaleLeaderException;
+import com.komori.predictions.repository.SettlementJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * Works through pending settlement jobs on the scheduler leader, off the status poller.
+ * - Woken as soon as a result is recorded, and otherwise checks for due jobs on a fixed interval.
+ * - Jobs are claimed with FOR UPDATE SKIP LOCKED and a lease, so a job whose worker died is picked up again once
+ *   its lease runs out.
+ * - A failed job is retried with exponential backoff and marked FAILED after MAX_ATTEMPTS.
+ * - On becoming leader (which includes startup) it re-queues any recorded match that still has unsettled predictions.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SettlementWorker {
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration CLAIM_LEASE = Duration.ofMinutes(5);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(10);
+    private static final Duration INITIAL_RETRY_DELAY = Duration.ofSeconds(30);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(30);
+    private static final int MAX_ATTEMPTS = 8;
+    private final SettlementJobRepository settlementJobRepository;
+    private final SettlementJobService settlementJobService;
+    private final LiveScoringService liveScoringService;
+    private final LeaderElectionService leaderElectionService;
+    private final FixtureTaskScheduler fixtureTaskScheduler;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean wakeRequested;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        schedulePoll();
+    }
+
+    @EventListener
+    public void onLeadershipChange(LeadershipChange change) {
+        if (!change.leader()) {
+            return;
+        }
+
+        int requeued = settlementJobRepository.requeueUnsettled();
+        if (requeued > 0) {
+            log.warn("Re-queued settlement for {} matches with unsettled predictions", requeued);
+        }
+        wake();
+    }
+
+    public void wake() {
+        fixtureTaskScheduler.dispatch("settlement-drain", this::drain, DRAIN_TIMEOUT);
+    }
+
+    private void schedulePoll() {
+        fixtureTaskScheduler.schedule("settlement-poll", () -> {
+            try {
+                drain();
+            } finally {
+                schedulePoll();
+            }
+        }, POLL_INTERVAL, DRAIN_TIMEOUT);
+    }
+
+    private void drain() {
+        // A wake while a drain is running is picked up by that drain before it finishes
+        if (!draining.compareAndSet(false, true)) {
+            wakeRequested = true;
+            return;
+        }
+
+        try {
+            do {
+                wakeRequested = false;
+                while (leaderElectionService.isLeader() && settleNext()) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                }
+            } while (wakeRequested);
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private boolean settleNext() {
+        Optional<SettlementJob> claimed = settlementJobRepository.claimNext(CLAIM_LEASE);
+        if (claimed.isEmpty()) {
+            return false;
+        }
+
+        SettlementJob job = claimed.get();
+        try {
+            settlementJobService.settle(job, leaderElectionService.getFencingToken());
+            confirmLivePoints(job.matchId());
+        } catch (StaleLeaderException e) {
+            log.warn("No longer the scheduler leader, handing match {} back", job.matchId());
+            settlementJobRepository.release(job.matchId());
+            return false;
+        } catch (Exception e) {
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            if (job.attempts() >= MAX_ATTEMPTS) {
+                log.error("Giving up on settling match {} after {} attempts", job.matchId(), job.attempts(), e);
+                settlementJobRepository.fail(job.matchId(), error);
+            } else {
+                Duration delay = retryDelay(job.attempts());
+                log.warn("Settling match {} failed (attempt {}/{}), retrying in {}s: {}",
+                        job.matchId(), job.attempts(), MAX_ATTEMPTS, delay.toSeconds(), error);
+                settlementJobRepository.retry(job.matchId(), delay, error);
+            }
+        }
+        return true;
+    }
+
+    // The points are already committed, so a failure here only leaves provisional points up until the live keys expire
+    private void confirmLivePoints(long matchId) {
+        try {
+            liveScoringService.confirm(matchId);
+        } catch (Exception e) {
+            log.warn("Failed to clear provisional points for match {}: {}", matchId, e.getMessage());
+        }
+    }
+
+    private static Duration retryDelay(int attempts) {
+        Duration delay = INITIAL_RETRY_DELAY.multipliedBy(1L << Math.min(attempts - 1, 10));
+        return delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay;
+    }
+}
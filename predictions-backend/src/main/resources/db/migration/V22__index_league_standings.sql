@@ -0,0 +1,10 @@
+UPDATE user_league_table
+SET points = 0
+WHERE points IS NULL;
+
+ALTER TABLE user_league_table
+    ALTER COLUMN points SET DEFAULT 0,
+    ALTER COLUMN points SET NOT NULL;
+
+CREATE INDEX idx_user_league_table_standings
+    ON user_league_table (league_id, points DESC, user_id);
@@ -0,0 +1,61 @@
+CREATE TABLE user_statistics
+(
+    user_id              BIGINT  NOT NULL,
+    predictions          INTEGER NOT NULL DEFAULT 0,
+    correct              INTEGER NOT NULL DEFAULT 0,
+    points               INTEGER NOT NULL DEFAULT 0,
+    sunday               INTEGER NOT NULL DEFAULT 0,
+    monday               INTEGER NOT NULL DEFAULT 0,
+    tuesday              INTEGER NOT NULL DEFAULT 0,
+    wednesday            INTEGER NOT NULL DEFAULT 0,
+    thursday             INTEGER NOT NULL DEFAULT 0,
+    friday               INTEGER NOT NULL DEFAULT 0,
+    saturday             INTEGER NOT NULL DEFAULT 0,
+    best_gameweek        INTEGER,
+    best_gameweek_points INTEGER,
+    CONSTRAINT pk_user_statistics PRIMARY KEY (user_id)
+);
+
+ALTER TABLE user_statistics
+    ADD CONSTRAINT FK_USER_STATISTICS_ON_USER FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE;
+
+CREATE TABLE user_gameweek_points
+(
+    user_id  BIGINT  NOT NULL,
+    gameweek INTEGER NOT NULL,
+    points   INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT pk_user_gameweek_points PRIMARY KEY (user_id, gameweek)
+);
+
+ALTER TABLE user_gameweek_points
+    ADD CONSTRAINT FK_USER_GAMEWEEK_POINTS_ON_USER FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE;
+
+-- Backfill from predictions that have already been settled
+INSERT INTO user_statistics (user_id, predictions, correct, points, sunday, monday, tuesday, wednesday, thursday, friday, saturday)
+SELECT p.user_id,
+       COUNT(*),
+       COUNT(*) FILTER (WHERE p.correct),
+       COALESCE(SUM(p.points), 0),
+       COUNT(*) FILTER (WHERE EXTRACT(DOW FROM p.date) = 0),
+       COUNT(*) FILTER (WHERE EXTRACT(DOW FROM p.date) = 1),
+       COUNT(*) FILTER (WHERE EXTRACT(DOW FROM p.date) = 2),
+       COUNT(*) FILTER (WHERE EXTRACT(DOW FROM p.date) = 3),
+       COUNT(*) FILTER (WHERE EXTRACT(DOW FROM p.date) = 4),
+       COUNT(*) FILTER (WHERE EXTRACT(DOW FROM p.date) = 5),
+       COUNT(*) FILTER (WHERE EXTRACT(DOW FROM p.date) = 6)
+FROM predictions p
+WHERE p.status = 'COMPLETED'
+GROUP BY p.user_id;
+
+INSERT INTO user_gameweek_points (user_id, gameweek, points)
+SELECT p.user_id, p.gameweek, COALESCE(SUM(p.points), 0)
+FROM predictions p
+WHERE p.status = 'COMPLETED' AND p.gameweek IS NOT NULL
+GROUP BY p.user_id, p.gameweek;
+
+UPDATE user_statistics s
+SET best_gameweek = b.gameweek, best_gameweek_points = b.points
+FROM (SELECT DISTINCT ON (user_id) user_id, gameweek, points
+      FROM user_gameweek_points
+      ORDER BY user_id, points DESC, gameweek) b
+WHERE s.user_id = b.user_id;
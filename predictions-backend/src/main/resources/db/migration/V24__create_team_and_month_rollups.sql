@@ -0,0 +1,39 @@
+CREATE TABLE user_team_stats
+(
+    user_id     BIGINT       NOT NULL,
+    team        VARCHAR(255) NOT NULL,
+    predictions INTEGER      NOT NULL DEFAULT 0,
+    correct     INTEGER      NOT NULL DEFAULT 0,
+    points      INTEGER      NOT NULL DEFAULT 0,
+    CONSTRAINT pk_user_team_stats PRIMARY KEY (user_id, team)
+);
+
+ALTER TABLE user_team_stats
+    ADD CONSTRAINT FK_USER_TEAM_STATS_ON_USER FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE;
+
+CREATE TABLE user_month_stats
+(
+    user_id     BIGINT   NOT NULL,
+    month       SMALLINT NOT NULL,
+    predictions INTEGER  NOT NULL DEFAULT 0,
+    correct     INTEGER  NOT NULL DEFAULT 0,
+    points      INTEGER  NOT NULL DEFAULT 0,
+    CONSTRAINT pk_user_month_stats PRIMARY KEY (user_id, month)
+);
+
+ALTER TABLE user_month_stats
+    ADD CONSTRAINT FK_USER_MONTH_STATS_ON_USER FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE;
+
+-- Backfill from predictions that have already been settled
+INSERT INTO user_team_stats (user_id, team, predictions, correct, points)
+SELECT p.user_id, x.team, COUNT(*), COUNT(*) FILTER (WHERE p.correct), COALESCE(SUM(p.points), 0)
+FROM predictions p
+CROSS JOIN LATERAL (VALUES (p.home_team), (p.away_team)) AS x(team)
+WHERE p.status = 'COMPLETED' AND x.team IS NOT NULL
+GROUP BY p.user_id, x.team;
+
+INSERT INTO user_month_stats (user_id, month, predictions, correct, points)
+SELECT p.user_id, EXTRACT(MONTH FROM p.date), COUNT(*), COUNT(*) FILTER (WHERE p.correct), COALESCE(SUM(p.points), 0)
+FROM predictions p
+WHERE p.status = 'COMPLETED' AND p.date IS NOT NULL
+GROUP BY p.user_id, EXTRACT(MONTH FROM p.date);
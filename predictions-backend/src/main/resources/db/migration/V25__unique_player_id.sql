@@ -0,0 +1,13 @@
+-- Squad sync upserts on player_id, so drop any duplicate loads (keeping the oldest row) before making it unique
+DELETE FROM players p
+USING players d
+WHERE p.player_id = d.player_id AND p.id > d.id;
+
+DELETE FROM players
+WHERE player_id IS NULL;
+
+ALTER TABLE players
+    ALTER COLUMN player_id SET NOT NULL;
+
+ALTER TABLE players
+    ADD CONSTRAINT uc_players_player_id UNIQUE (player_id);
@@ -0,0 +1,10 @@
+-- Fencing token for the scheduler leader; bumped on every change of leader so writes from a deposed one can be refused
+CREATE TABLE leader_fence
+(
+    name  VARCHAR(50) NOT NULL,
+    token BIGINT      NOT NULL DEFAULT 0,
+    CONSTRAINT pk_leader_fence PRIMARY KEY (name)
+);
+
+INSERT INTO leader_fence (name, token)
+VALUES ('scheduler', 0);
@@ -0,0 +1,25 @@
+-- A match result is recorded once per fixture, so duplicate saves (keeping the oldest row) go before making it unique
+DELETE FROM matches m
+USING matches d
+WHERE m.match_id = d.match_id AND m.id > d.id;
+
+ALTER TABLE matches
+    ADD CONSTRAINT uc_matches_match_id UNIQUE (match_id);
+
+-- One job per match: PENDING until its points are committed (DONE), or FAILED once retries run out
+CREATE TABLE settlement_jobs
+(
+    match_id        BIGINT                   NOT NULL,
+    status          VARCHAR(20)              NOT NULL DEFAULT 'PENDING',
+    attempts        INTEGER                  NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    last_error      TEXT,
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    settled_at      TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT pk_settlement_jobs PRIMARY KEY (match_id)
+);
+
+ALTER TABLE settlement_jobs
+    ADD CONSTRAINT FK_SETTLEMENT_JOBS_ON_MATCH FOREIGN KEY (match_id) REFERENCES matches (match_id);
+
+CREATE INDEX idx_settlement_jobs_pending ON settlement_jobs (next_attempt_at) WHERE status = 'PENDING';
@@ -0,0 +1,30 @@
+-- Most active day covers every prediction made, not just settled ones
+ALTER TABLE user_statistics
+    ADD COLUMN predictions_made INTEGER NOT NULL DEFAULT 0;
+
+INSERT INTO user_statistics (user_id)
+SELECT DISTINCT p.user_id
+FROM predictions p
+ON CONFLICT (user_id) DO NOTHING;
+
+UPDATE user_statistics s
+SET predictions_made = c.made,
+    sunday           = c.sunday,
+    monday           = c.monday,
+    tuesday          = c.tuesday,
+    wednesday        = c.wednesday,
+    thursday         = c.thursday,
+    friday           = c.friday,
+    saturday         = c.saturday
+FROM (SELECT p.user_id,
+             COUNT(*)                                        AS made,
+             COUNT(*) FILTER (WHERE EXTRACT(DOW FROM p.date) = 0) AS sunday,
+             COUNT(*) FILTER (WHERE EXTRACT(DOW FROM p.date) = 1) AS monday,
+             COUNT(*) FILTER (WHERE EXTRACT(DOW FROM p.date) = 2) AS tuesday,
+             COUNT(*) FILTER (WHERE EXTRACT(DOW FROM p.date) = 3) AS wednesday,
+             COUNT(*) FILTER (WHERE EXTRACT(DOW FROM p.date) = 4) AS thursday,
+             COUNT(*) FILTER (WHERE EXTRACT(DOW FROM p.date) = 5) AS friday,
+             COUNT(*) FILTER (WHERE EXTRACT(DOW FROM p.date) = 6) AS saturday
+      FROM predictions p
+      GROUP BY p.user_id) c
+WHERE s.user_id = c.user_id;
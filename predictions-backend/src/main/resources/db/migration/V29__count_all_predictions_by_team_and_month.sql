@@ -0,0 +1,15 @@
+-- Team and monthly performance count every prediction made, as they did before the rollups; settlement only adds correct and points
+INSERT INTO user_team_stats AS t (user_id, team, predictions)
+SELECT p.user_id, x.team, COUNT(*)
+FROM predictions p
+CROSS JOIN LATERAL (VALUES (p.home_team), (p.away_team)) AS x(team)
+WHERE x.team IS NOT NULL
+GROUP BY p.user_id, x.team
+ON CONFLICT (user_id, team) DO UPDATE SET predictions = EXCLUDED.predictions;
+
+INSERT INTO user_month_stats AS m (user_id, month, predictions)
+SELECT p.user_id, EXTRACT(MONTH FROM p.date), COUNT(*)
+FROM predictions p
+WHERE p.date IS NOT NULL
+GROUP BY p.user_id, EXTRACT(MONTH FROM p.date)
+ON CONFLICT (user_id, month) DO UPDATE SET predictions = EXCLUDED.predictions;
@@ -0,0 +1,196 @@
+package com.komori.predictions.scoring;
+
+import com.komori.predictions.dto.enumerated.Chip;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoringKernelTest {
+    private static final List<String> PLAYERS = List.of("Saka", "Odegaard", "Watkins", "White (o.g.)", "Kane", "Son");
+
+    @Test
+    void exactScorelineAndScorersScoresFifteenPlusScorers() {
+        ScoringKernel kernel = kernel(2, 1, List.of("Saka", "Saka"), List.of("Watkins"));
+
+        ScoreBreakdown breakdown = kernel.score(pick(2, 1, List.of("Saka", "Saka"), List.of("Watkins")));
+
+        assertEquals(15, breakdown.basePoints());
+        assertEquals(3, breakdown.correctScorers());
+        assertEquals(21, breakdown.total());
+        assertTrue(breakdown.correct());
+    }
+
+    @Test
+    void correctScorelineWithWrongScorersScoresTen() {
+        ScoringKernel kernel = kernel(2, 1, List.of("Saka", "Saka"), List.of("Watkins"));
+
+        assertEquals(14, kernel.score(pick(2, 1, List.of("Saka", "Odegaard"), List.of("Watkins"))).total());
+    }
+
+    @Test
+    void drawAndWinnerScoreBasePoints() {
+        assertEquals(7, kernel(1, 1, List.of(), List.of()).score(pick(2, 2, List.of(), List.of())).total());
+        assertEquals(5, kernel(2, 0, List.of(), List.of()).score(pick(1, 0, List.of(), List.of())).total());
+        assertEquals(0, kernel(2, 0, List.of(), List.of()).score(pick(0, 1, List.of(), List.of())).total());
+    }
+
+    @Test
+    void duplicateScorersOnlyCountAsOftenAsTheyScored() {
+        ScoringKernel kernel = kernel(1, 0, List.of("Saka"), List.of());
+
+        ScoreBreakdown breakdown = kernel.score(pick(3, 0, List.of("Saka", "Saka", "Saka"), List.of()));
+
+        assertEquals(1, breakdown.correctScorers());
+        assertEquals(7, breakdown.total());
+    }
+
+    @Test
+    void scorersCountOnEitherSideButOnlyMatchExactlyOnTheirOwn() {
+        ScoringKernel kernel = kernel(2, 0, List.of("Saka", "Saka"), List.of());
+
+        assertEquals(2, kernel.countCorrectScorers(List.of("Saka"), List.of("Saka")));
+        assertFalse(kernel.scorersMatchExactly(List.of("Saka"), List.of("Saka")));
+        assertTrue(kernel.scorersMatchExactly(List.of("Saka", "Saka"), List.of()));
+    }
+
+    @Test
+    void ownGoalsOnlyMatchTheOwnGoalName() {
+        ScoringKernel kernel = kernel(1, 1, List.of("Saka"), List.of("White (o.g.)"));
+
+        assertEquals(12, kernel.score(pick(1, 1, List.of("Saka"), List.of("White"))).total());
+        assertEquals(19, kernel.score(pick(1, 1, List.of("Saka"), List.of("White (o.g.)"))).total());
+        assertEquals(14, kernel.score(pick(1, 1, List.of("White (o.g.)"), List.of("Saka"))).total());
+    }
+
+    @Test
+    void goalDifferencePenaltyAppliesBeyondTwoGoals() {
+        ScoreBreakdown wrong = kernel(0, 0, List.of(), List.of()).score(pick(3, 2, List.of(), List.of()));
+        assertEquals(3, wrong.goalDifferencePenalty());
+        assertEquals(-3, wrong.total());
+
+        assertEquals(3, kernel(4, 1, List.of(), List.of()).score(pick(1, 0, List.of(), List.of())).total());
+        assertEquals(0, kernel(3, 1, List.of(), List.of()).score(pick(1, 1, List.of(), List.of())).goalDifferencePenalty());
+    }
+
+    @Test
+    void chipsMultiplyBeforeTheCleanSheetBonus() {
+        ScoringKernel kernel = kernel(2, 0, List.of("Kane", "Kane"), List.of());
+        List<String> homeScorers = List.of("Kane", "Son");
+
+        assertEquals(12, kernel.score(pick(2, 0, homeScorers, List.of())).total());
+        assertEquals(14, kernel.score(pick(2, 0, homeScorers, List.of(), Chip.SCORER_FOCUS)).total());
+        assertEquals(72, kernel.score(pick(2, 0, homeScorers, List.of(), Chip.WILDCARD, Chip.DOUBLE_DOWN)).total());
+        assertEquals(48, kernel.score(pick(2, 0, homeScorers, List.of(), Chip.ALL_IN_WEEK, Chip.DOUBLE_DOWN)).total());
+        assertEquals(29, kernel.score(pick(2, 0, homeScorers, List.of(), Chip.DEFENSE_PLUS_PLUS, Chip.DOUBLE_DOWN)).total());
+    }
+
+    @Test
+    void cleanSheetBonusNeedsTheActualCleanSheet() {
+        assertEquals(5, kernel(2, 1, List.of(), List.of()).score(pick(2, 0, List.of(), List.of(), Chip.DEFENSE_PLUS_PLUS)).total());
+        assertEquals(25, kernel(0, 0, List.of(), List.of()).score(pick(0, 0, List.of(), List.of(), Chip.DEFENSE_PLUS_PLUS)).total());
+    }
+
+    @Test
+    void penaltyIsMultipliedByChips() {
+        assertEquals(-9, kernel(0, 0, List.of(), List.of()).score(pick(3, 2, List.of(), List.of(), Chip.WILDCARD)).total());
+    }
+
+    @Test
+    void matchesTheOriginalRulesOnRandomPredictions() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            List<String> actualHome = randomScorers(random);
+            List<String> actualAway = randomScorers(random);
+            List<String> predHome = randomScorers(random);
+            List<String> predAway = randomScorers(random);
+            int predHomeScore = random.nextBoolean() ? predHome.size() : random.nextInt(5);
+            int predAwayScore = random.nextBoolean() ? predAway.size() : random.nextInt(5);
+            List<Chip> chips = Arrays.stream(Chip.values()).filter(chip -> random.nextInt(4) == 0).toList();
+
+            int expected = originalPoints(actualHome.size(), actualAway.size(), actualHome, actualAway,
+                    predHomeScore, predAwayScore, predHome, predAway, chips);
+            int actual = kernel(actualHome.size(), actualAway.size(), actualHome, actualAway)
+                    .score(PredictionPick.of(predHomeScore, predAwayScore, predHome, predAway, chips)).total();
+            assertEquals(expected, actual, () -> "actual " + actualHome + " " + actualAway + ", predicted "
+                    + predHomeScore + "-" + predAwayScore + " " + predHome + " " + predAway + " " + chips);
+        }
+    }
+
+    private static ScoringKernel kernel(int homeScore, int awayScore, List<String> homeScorers, List<String> awayScorers) {
+        return new ScoringKernel(new MatchResult(homeScore, awayScore, homeScorers, awayScorers));
+    }
+
+    private static PredictionPick pick(int homeScore, int awayScore, List<String> homeScorers, List<String> awayScorers, Chip... chips) {
+        return PredictionPick.of(homeScore, awayScore, homeScorers, awayScorers, List.of(chips));
+    }
+
+    private static List<String> randomScorers(Random random) {
+        List<String> scorers = new ArrayList<>();
+        int goals = random.nextInt(4);
+        for (int i = 0; i < goals; i++) {
+            scorers.add(PLAYERS.get(random.nextInt(PLAYERS.size())));
+        }
+        return scorers;
+    }
+
+    // The rules as the baseline PredictionService.getPredictionScore had them, with its helpers
+    // scorersMatchExactly, countCorrectScorers and cleanSheetsPredicted folded in
+    private static int originalPoints(int actualHome, int actualAway, List<String> actualHomeScorers, List<String> actualAwayScorers,
+                                      int predHome, int predAway, List<String> predHomeScorers, List<String> predAwayScorers, List<Chip> chips) {
+        int points = 0;
+        boolean correctScoreline = (actualHome == predHome) && (actualAway == predAway);
+        boolean correctDraw = (actualHome == actualAway) && (predHome == predAway);
+        boolean correctWinner = (Integer.compare(actualHome, actualAway)) == (Integer.compare(predHome, predAway));
+        boolean scorersMatch = actualHomeScorers.size() == predHomeScorers.size() && actualAwayScorers.size() == predAwayScorers.size()
+                && counts(actualHomeScorers).equals(counts(predHomeScorers)) && counts(actualAwayScorers).equals(counts(predAwayScorers));
+
+        if (correctScoreline && scorersMatch) {
+            points = 15;
+        } else if (correctScoreline) {
+            points = 10;
+        } else if (correctDraw) {
+            points = 7;
+        } else if (correctWinner) {
+            points = 5;
+        }
+
+        Map<String, Long> remaining = counts(Stream.concat(actualHomeScorers.stream(), actualAwayScorers.stream()).toList());
+        int correctScorers = 0;
+        for (String scorer : Stream.concat(predHomeScorers.stream(), predAwayScorers.stream()).toList()) {
+            if (remaining.get(scorer) != null && remaining.get(scorer) > 0) {
+                correctScorers++;
+                remaining.put(scorer, remaining.get(scorer) - 1);
+            }
+        }
+        points += (chips.contains(Chip.SCORER_FOCUS) ? 4 : 2) * correctScorers;
+
+        int goalDifference = Math.abs((actualHome + actualAway) - (predHome + predAway));
+        if (goalDifference > 2) {
+            points -= goalDifference - 2;
+        }
+
+        if (chips.contains(Chip.WILDCARD)) {
+            points *= 3;
+        }
+        if (chips.contains(Chip.DOUBLE_DOWN)) {
+            points *= 2;
+        }
+        if (chips.contains(Chip.ALL_IN_WEEK)) {
+            points *= 2;
+        }
+        if (chips.contains(Chip.DEFENSE_PLUS_PLUS)) {
+            int cleanSheets = (predHome == 0 && actualHome == 0 ? 1 : 0) + (predAway == 0 && actualAway == 0 ? 1 : 0);
+            points += 5 * cleanSheets;
+        }
+        return points;
+    }
+
+    private static Map<String, Long> counts(List<String> scorers) {
+        return scorers.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+}
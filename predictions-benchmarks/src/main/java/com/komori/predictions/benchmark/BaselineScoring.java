@@ -0,0 +1,124 @@
+package com.komori.predictions.benchmark;
+
+import com.komori.predictions.dto.enumerated.Chip;
+import com.komori.predictions.entity.MatchEntity;
+import com.komori.predictions.entity.PredictionEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// PredictionService.getPredictionScore and its helpers as they were before the scoring kernel, minus the two
+// repository lookups, so the suite keeps a "before" to compare the kernel against
+public final class BaselineScoring {
+    private BaselineScoring() {
+    }
+
+    public static Integer getPredictionScore(MatchEntity match, PredictionEntity prediction) {
+        int points = 0;
+        int actualHome = match.getHomeScore();
+        int actualAway = match.getAwayScore();
+        int predHome = prediction.getHomeScore();
+        int predAway = prediction.getAwayScore();
+        List<String> actualHomeScorers = match.getHomeScorers();
+        List<String> actualAwayScorers = match.getAwayScorers();
+        List<String> predHomeScorers = prediction.getHomeScorers();
+        List<String> predAwayScorers = prediction.getAwayScorers();
+        List<Chip> chips = prediction.getChips();
+
+        // Base points
+        boolean correctScoreline = (actualHome == predHome) && (actualAway == predAway);
+        boolean correctDraw = (actualHome == actualAway) && (predHome == predAway);
+        boolean correctWinner = (Integer.compare(actualHome, actualAway)) == (Integer.compare(predHome, predAway));
+
+        if (correctScoreline && scorersMatchExactly(actualHomeScorers, actualAwayScorers,
+                predHomeScorers, predAwayScorers)) {
+            points = 15;
+        } else if (correctScoreline) {
+            points = 10;
+        } else if (correctDraw) {
+            points = 7;
+        } else if (correctWinner) {
+            points = 5;
+        }
+
+        // Goalscorer points
+        int correctScorers = countCorrectScorers(actualHomeScorers, actualAwayScorers, predHomeScorers, predAwayScorers);
+        if (chips.contains(Chip.SCORER_FOCUS)) {
+            points += 4 * correctScorers;
+        } else {
+            points += 2 * correctScorers;
+        }
+
+        // Goal difference penalty
+        int goalDifference = Math.abs((actualHome + actualAway) - (predHome + predAway));
+        if (goalDifference > 2) {
+            points -= goalDifference - 2;
+        }
+
+        // Total
+        if (chips.contains(Chip.WILDCARD)) {
+            points *= 3;
+        }
+        if (chips.contains(Chip.DOUBLE_DOWN)) {
+            points *= 2;
+        }
+        if (chips.contains(Chip.ALL_IN_WEEK)) {
+            points *= 2;
+        }
+        if (chips.contains(Chip.DEFENSE_PLUS_PLUS)) {
+            points += 5 * cleanSheetsPredicted(predHome, actualHome, predAway, actualAway);
+        }
+
+        return points;
+    }
+
+    public static boolean scorersMatchExactly(List<String> actualHomeScorers, List<String> actualAwayScorers, List<String> predHomeScorers, List<String> predAwayScorers) {
+        if (actualHomeScorers.size() != predHomeScorers.size() || actualAwayScorers.size() != predAwayScorers.size()) {
+            return false;
+        }
+
+        Map<String, Long> actualHomeMap = actualHomeScorers.stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        Map<String, Long> actualAwayMap = actualAwayScorers.stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        Map<String, Long> predHomeMap = predHomeScorers.stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        Map<String, Long> predAwayMap = predAwayScorers.stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        return actualHomeMap.equals(predHomeMap) && actualAwayMap.equals(predAwayMap);
+    }
+
+    public static int countCorrectScorers(List<String> actualHomeScorers, List<String> actualAwayScorers, List<String> predHomeScorers, List<String> predAwayScorers) {
+        List<String> actualScorers = Stream.concat(actualHomeScorers.stream(), actualAwayScorers.stream()).toList();
+        List<String> predScorers = Stream.concat(predHomeScorers.stream(), predAwayScorers.stream()).toList();
+
+        Map<String, Long> actualScorerMap = actualScorers.stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        int totalCount = 0;
+        for (String scorer : predScorers) {
+            if (actualScorerMap.get(scorer) != null && actualScorerMap.get(scorer) > 0) {
+                totalCount++;
+                actualScorerMap.put(scorer, actualScorerMap.get(scorer) - 1);
+            }
+        }
+
+        return totalCount;
+    }
+
+    private static int cleanSheetsPredicted(int predHome, int actualHome, int predAway, int actualAway) {
+        int cleanSheets = 0;
+        if (predHome == 0 && actualHome == 0) {
+            cleanSheets++;
+        }
+        if (predAway == 0 && actualAway == 0) {
+            cleanSheets++;
+        }
+
+        return cleanSheets;
+    }
+}
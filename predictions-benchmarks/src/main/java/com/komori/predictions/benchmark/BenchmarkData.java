@@ -0,0 +1,71 @@
+package com.komori.predictions.benchmark;
+
+import com.komori.predictions.dto.enumerated.Chip;
+import com.komori.predictions.scoring.PredictionPick;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic generators so that runs before and after a change see the same inputs
+public final class BenchmarkData {
+    public static final int SQUAD_SIZE = 25;
+
+    private BenchmarkData() {
+    }
+
+    public enum ChipMix {
+        // Most predictions carry no chip
+        NONE,
+        // Roughly what a live gameweek looks like: a third of predictions use one chip
+        TYPICAL,
+        // Everyone stacking two or three chips, e.g. an ALL_IN_WEEK gameweek
+        STACKED
+    }
+
+    public static List<String> squad(String team) {
+        List<String> players = new ArrayList<>(SQUAD_SIZE);
+        for (int i = 0; i < SQUAD_SIZE; i++) {
+            players.add(team + " Player " + i);
+        }
+        return players;
+    }
+
+    public static List<String> scorers(Random random, List<String> squad, int goals) {
+        List<String> scorers = new ArrayList<>(goals);
+        for (int i = 0; i < goals; i++) {
+            // Forwards score most, so bias towards the front of the squad
+            scorers.add(squad.get(Math.min(random.nextInt(6) + random.nextInt(6), squad.size() - 1)));
+        }
+        return scorers;
+    }
+
+    public static EnumSet<Chip> chips(Random random, ChipMix mix) {
+        EnumSet<Chip> chips = EnumSet.noneOf(Chip.class);
+        Chip[] all = Chip.values();
+        switch (mix) {
+            case NONE -> {
+            }
+            case TYPICAL -> {
+                if (random.nextInt(3) == 0) {
+                    chips.add(all[random.nextInt(all.length)]);
+                }
+            }
+            case STACKED -> {
+                int count = 2 + random.nextInt(2);
+                while (chips.size() < count) {
+                    chips.add(all[random.nextInt(all.length)]);
+                }
+            }
+        }
+        return chips;
+    }
+
+    public static PredictionPick pick(Random random, List<String> homeSquad, List<String> awaySquad, ChipMix mix) {
+        int home = random.nextInt(4);
+        int away = random.nextInt(4);
+        return PredictionPick.of(home, away,
+                scorers(random, homeSquad, home), scorers(random, awaySquad, away), chips(random, mix));
+    }
+}
@@ -0,0 +1,134 @@
+package com.komori.predictions.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.komori.predictions.dto.request.HomeAndAwayScorers;
+import com.komori.predictions.dto.response.Player;
+import com.komori.predictions.entity.PlayerEntity;
+import com.komori.predictions.entity.TeamEntity;
+import com.komori.predictions.repository.PlayerBatchRepository;
+import com.komori.predictions.repository.PlayerRepository;
+import com.komori.predictions.repository.TeamRepository;
+import com.komori.predictions.service.APIService;
+import com.komori.predictions.service.FixtureFeedClient;
+import com.komori.predictions.service.FixtureStore;
+import com.komori.predictions.service.MatchdayService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// Parses a full gameweek feed from bytes and resolves the scorers of one fixture
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GoalScorersBenchmark {
+    private static final int FIXTURES_PER_GAMEWEEK = 10;
+    private static final long TARGET_FIXTURE = 5;
+
+    @Param({"0", "3", "8"})
+    private int goals;
+
+    private APIService apiService;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        byte[] feed = mapper.writeValueAsBytes(gameweekFeed(random));
+
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setRequestFactory((uri, method) -> {
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            MockClientHttpResponse response = new MockClientHttpResponse(feed, HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            request.setResponse(response);
+            return request;
+        });
+
+        TeamEntity home = TeamEntity.builder().id(1L).teamId(1).name("Home").build();
+        TeamEntity away = TeamEntity.builder().id(2L).teamId(2).name("Away").build();
+        List<PlayerEntity> players = new ArrayList<>();
+        for (long i = 0; i < 2 * BenchmarkData.SQUAD_SIZE; i++) {
+            players.add(PlayerEntity.builder()
+                    .playerId(i)
+                    .name("Player " + i)
+                    .team(i < BenchmarkData.SQUAD_SIZE ? home : away)
+                    .build());
+        }
+
+        PlayerRepository playerRepository = mock(PlayerRepository.class, withSettings().stubOnly());
+        MatchdayService matchdayService = mock(MatchdayService.class, withSettings().stubOnly());
+        when(playerRepository.findAllByTeam_TeamIdIn(any())).thenReturn(players);
+        when(matchdayService.getCurrentMatchday()).thenReturn(10);
+
+        // A zero snapshot TTL keeps every invocation parsing the feed rather than reading the snapshot
+        FixtureFeedClient fixtureFeedClient = new FixtureFeedClient(restTemplate);
+        ReflectionTestUtils.setField(fixtureFeedClient, "fixtureListBaseUrl", "http://fixtures.local/api/fixtures/?event=");
+        ReflectionTestUtils.setField(fixtureFeedClient, "snapshotTtl", Duration.ZERO);
+
+        apiService = new APIService(restTemplate, mock(TeamRepository.class), playerRepository, matchdayService,
+                fixtureFeedClient, mock(PlayerBatchRepository.class), mapper,
+                mock(FixtureStore.class), (RedisTemplate<String, Player>) mock(RedisTemplate.class));
+    }
+
+    @Benchmark
+    public HomeAndAwayScorers getGoalScorers() {
+        return apiService.getGoalScorers(TARGET_FIXTURE);
+    }
+
+    private List<Map<String, Object>> gameweekFeed(Random random) {
+        List<Map<String, Object>> fixtures = new ArrayList<>();
+        for (long id = 1; id <= FIXTURES_PER_GAMEWEEK; id++) {
+            Map<String, Object> fixture = new LinkedHashMap<>();
+            fixture.put("id", id);
+            fixture.put("event", 10);
+            fixture.put("kickoff_time", "2025-10-18T14:00:00Z");
+            fixture.put("team_h", 1);
+            fixture.put("team_a", 2);
+            fixture.put("team_h_score", (goals + 1) / 2);
+            fixture.put("team_a_score", goals / 2);
+            fixture.put("started", true);
+            fixture.put("finished_provisional", true);
+            fixture.put("stats", stats(random));
+            fixtures.add(fixture);
+        }
+        return fixtures;
+    }
+
+    private List<Map<String, Object>> stats(Random random) {
+        List<Map<String, Object>> home = new ArrayList<>();
+        List<Map<String, Object>> away = new ArrayList<>();
+        for (int i = 0; i < goals; i++) {
+            boolean isHome = i % 2 == 0;
+            long player = random.nextInt(BenchmarkData.SQUAD_SIZE) + (isHome ? 0 : BenchmarkData.SQUAD_SIZE);
+            (isHome ? home : away).add(Map.of("value", 1, "element", player));
+        }
+        List<Map<String, Object>> assists = List.of(Map.of("value", 1, "element", 3));
+
+        // The real feed carries a dozen or so other stat blocks per fixture that the parser has to skip
+        List<Map<String, Object>> stats = new ArrayList<>();
+        stats.add(Map.of("identifier", "goals_scored", "h", home, "a", away));
+        stats.add(Map.of("identifier", "assists", "h", assists, "a", assists));
+        stats.add(Map.of("identifier", "own_goals", "h", List.of(), "a", List.of()));
+        for (String identifier : List.of("yellow_cards", "red_cards", "saves", "bonus", "bps", "penalties_saved")) {
+            stats.add(Map.of("identifier", identifier, "h", assists, "a", assists));
+        }
+        return stats;
+    }
+}
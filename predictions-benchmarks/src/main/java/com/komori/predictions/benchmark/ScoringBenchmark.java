@@ -0,0 +1,163 @@
+package com.komori.predictions.benchmark;
+
+import com.komori.predictions.benchmark.BenchmarkData.ChipMix;
+import com.komori.predictions.dto.enumerated.Chip;
+import com.komori.predictions.entity.MatchEntity;
+import com.komori.predictions.entity.PredictionEntity;
+import com.komori.predictions.repository.MatchRepository;
+import com.komori.predictions.repository.PredictionRepository;
+import com.komori.predictions.repository.UserLeagueRepository;
+import com.komori.predictions.repository.UserRepository;
+import com.komori.predictions.repository.UserStatisticsRepository;
+import com.komori.predictions.scoring.MatchResult;
+import com.komori.predictions.scoring.PredictionPick;
+import com.komori.predictions.scoring.ScoringKernel;
+import com.komori.predictions.service.ChipService;
+import com.komori.predictions.service.FixtureStore;
+import com.komori.predictions.service.LeaguePredictionCacheService;
+import com.komori.predictions.service.MatchCacheService;
+import com.komori.predictions.service.PredictionService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoringBenchmark {
+    private static final int PICKS = 1024;
+
+    @Param({"0", "3", "6"})
+    private int goals;
+
+    @Param({"NONE", "TYPICAL", "STACKED"})
+    private ChipMix chipMix;
+
+    private ScoringKernel kernel;
+    private PredictionPick[] picks;
+    private MatchEntity match;
+    private PredictionEntity[] baselinePicks;
+    private PredictionService predictionService;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<String> homeSquad = BenchmarkData.squad("Home");
+        List<String> awaySquad = BenchmarkData.squad("Away");
+        int homeGoals = (goals + 1) / 2;
+        int awayGoals = goals / 2;
+        match = MatchEntity.builder()
+                .matchId(1L)
+                .homeScore(homeGoals)
+                .awayScore(awayGoals)
+                .homeScorers(BenchmarkData.scorers(random, homeSquad, homeGoals))
+                .awayScorers(BenchmarkData.scorers(random, awaySquad, awayGoals))
+                .build();
+
+        kernel = new ScoringKernel(MatchResult.of(match));
+        picks = new PredictionPick[PICKS];
+        for (int i = 0; i < PICKS; i++) {
+            picks[i] = BenchmarkData.pick(random, homeSquad, awaySquad, chipMix);
+        }
+
+        // The same picks in the shape the pre-kernel scoring read them
+        baselinePicks = new PredictionEntity[PICKS];
+        for (int i = 0; i < PICKS; i++) {
+            PredictionPick pick = picks[i];
+            baselinePicks[i] = PredictionEntity.builder()
+                    .homeScore(pick.homeScore())
+                    .awayScore(pick.awayScore())
+                    .homeScorers(pick.homeScorers())
+                    .awayScorers(pick.awayScorers())
+                    .chips(Arrays.stream(Chip.values()).filter(pick::has).collect(Collectors.toCollection(ArrayList::new)))
+                    .build();
+        }
+
+        PredictionPick pick = picks[0];
+        PredictionEntity prediction = PredictionEntity.builder()
+                .matchId(1L)
+                .homeScore(pick.homeScore())
+                .awayScore(pick.awayScore())
+                .homeScorers(pick.homeScorers())
+                .awayScorers(pick.awayScorers())
+                .chips(new ArrayList<>(BenchmarkData.chips(random, chipMix)))
+                .build();
+        MatchCacheService matchCacheService = new MatchCacheService(mock(MatchRepository.class), mock(StringRedisTemplate.class),
+                mock(RedisMessageListenerContainer.class));
+        matchCacheService.put(match);
+        PredictionRepository predictionRepository = mock(PredictionRepository.class, withSettings().stubOnly());
+        when(predictionRepository.findByMatchIdAndUser_Email(anyLong(), anyString())).thenReturn(prediction);
+        predictionService = new PredictionService(predictionRepository, mock(UserRepository.class),
+                matchCacheService, mock(ChipService.class), mock(UserLeagueRepository.class), mock(LeaguePredictionCacheService.class),
+                mock(UserStatisticsRepository.class), mock(FixtureStore.class), mock(MatchRepository.class));
+    }
+
+    private PredictionPick nextPick() {
+        return picks[index++ & (PICKS - 1)];
+    }
+
+    @Benchmark
+    public int score() {
+        return kernel.score(nextPick()).total();
+    }
+
+    @Benchmark
+    public int baselineScore() {
+        return BaselineScoring.getPredictionScore(match, baselinePicks[index++ & (PICKS - 1)]);
+    }
+
+    @Benchmark
+    public boolean scorersMatchExactly() {
+        PredictionPick pick = nextPick();
+        return kernel.scorersMatchExactly(pick.homeScorers(), pick.awayScorers());
+    }
+
+    @Benchmark
+    public int countCorrectScorers() {
+        PredictionPick pick = nextPick();
+        return kernel.countCorrectScorers(pick.homeScorers(), pick.awayScorers());
+    }
+
+    // Full service entry point, including building the kernel for the match
+    @Benchmark
+    public Integer getPredictionScore() {
+        return predictionService.getPredictionScore("user@example.com", 1L);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PICKS)
+    public void scoreBatch(Blackhole blackhole) {
+        for (PredictionPick pick : picks) {
+            blackhole.consume(kernel.score(pick).total());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PICKS)
+    public void baselineScoreBatch(Blackhole blackhole) {
+        for (PredictionEntity prediction : baselinePicks) {
+            blackhole.consume(BaselineScoring.getPredictionScore(match, prediction));
+        }
+    }
+
+    @Benchmark
+    public boolean chipLookup() {
+        return nextPick().has(Chip.WILDCARD);
+    }
+}
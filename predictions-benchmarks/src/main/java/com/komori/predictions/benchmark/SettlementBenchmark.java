@@ -0,0 +1,126 @@
+package com.komori.predictions.benchmark;
+
+import com.komori.predictions.benchmark.BenchmarkData.ChipMix;
+import com.komori.predictions.dto.settlement.LeaguePointsUpdate;
+import com.komori.predictions.dto.settlement.SettlementPrediction;
+import com.komori.predictions.dto.settlement.SettlementResult;
+import com.komori.predictions.dto.settlement.UserPointsUpdate;
+import com.komori.predictions.entity.MatchEntity;
+import com.komori.predictions.repository.LeaderFenceRepository;
+import com.komori.predictions.repository.SettlementRepository;
+import com.komori.predictions.service.LeaderboardService;
+import com.komori.predictions.service.LeaguePredictionCacheService;
+import com.komori.predictions.service.SettlementService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+// Settles a whole match in memory; the repository hands back canned rows and swallows writes
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SettlementBenchmark {
+    private static final String LEAGUE_UUID = UUID.randomUUID().toString();
+    private static final long FENCING_TOKEN = 1;
+
+    @Param({"1000", "10000", "50000"})
+    private int predictions;
+
+    @Param({"TYPICAL", "STACKED"})
+    private ChipMix chipMix;
+
+    private SettlementService settlementService;
+    private MatchEntity match;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<String> homeSquad = BenchmarkData.squad("Home");
+        List<String> awaySquad = BenchmarkData.squad("Away");
+        match = MatchEntity.builder()
+                .matchId(1L)
+                .homeTeam("Home")
+                .awayTeam("Away")
+                .homeScore(2)
+                .awayScore(1)
+                .homeScorers(BenchmarkData.scorers(random, homeSquad, 2))
+                .awayScorers(BenchmarkData.scorers(random, awaySquad, 1))
+                .build();
+
+        List<SettlementPrediction> rows = new ArrayList<>(predictions);
+        for (int i = 0; i < predictions; i++) {
+            rows.add(new SettlementPrediction(i, i, BenchmarkData.pick(random, homeSquad, awaySquad, chipMix)));
+        }
+        settlementService = new SettlementService(new InMemorySettlementRepository(rows), new CurrentLeaderFenceRepository(),
+                mock(LeaderboardService.class, withSettings().stubOnly()),
+                mock(LeaguePredictionCacheService.class, withSettings().stubOnly()));
+    }
+
+    @Benchmark
+    public SettlementResult settleMatch() {
+        return settlementService.settleMatch(match, FENCING_TOKEN);
+    }
+
+    static class CurrentLeaderFenceRepository extends LeaderFenceRepository {
+        CurrentLeaderFenceRepository() {
+            super(null);
+        }
+
+        @Override
+        public boolean isCurrent(long token) {
+            return true;
+        }
+    }
+
+    static class InMemorySettlementRepository extends SettlementRepository {
+        private final List<SettlementPrediction> rows;
+
+        InMemorySettlementRepository(List<SettlementPrediction> rows) {
+            super(null);
+            this.rows = rows;
+        }
+
+        @Override
+        public List<SettlementPrediction> findUnsettledPredictions(long matchId) {
+            return rows;
+        }
+
+        @Override
+        public int completePredictions(Long[] predictionIds, Integer[] points, Boolean[] correct) {
+            return predictionIds.length;
+        }
+
+        @Override
+        public int updateUserStatistics(Long[] predictionIds) {
+            return predictionIds.length;
+        }
+
+        @Override
+        public List<UserPointsUpdate> addUserPoints(Long[] userIds, Integer[] points) {
+            List<UserPointsUpdate> updates = new ArrayList<>(userIds.length);
+            for (int i = 0; i < userIds.length; i++) {
+                updates.add(new UserPointsUpdate(userIds[i], points[i]));
+            }
+            return updates;
+        }
+
+        @Override
+        public List<LeaguePointsUpdate> addLeaguePoints(Long[] userIds, Integer[] points) {
+            List<LeaguePointsUpdate> updates = new ArrayList<>(userIds.length);
+            for (int i = 0; i < userIds.length; i++) {
+                updates.add(new LeaguePointsUpdate(LEAGUE_UUID, userIds[i], points[i]));
+            }
+            return updates;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.komori.predictions.service;
+
+import com.komori.predictions.dto.projection.PredictionCountProjection;
+import com.komori.predictions.dto.response.LeagueStanding;
+import com.komori.predictions.entity.LeagueEntity;
+import com.komori.predictions.entity.UserEntity;
+import com.komori.predictions.entity.UserLeagueEntity;
+import com.komori.predictions.repository.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Lives in the service package because leagueEntityToStanding is protected
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeagueStandingBenchmark {
+    @Param({"10", "1000", "50000"})
+    private int members;
+
+    private LeagueService leagueService;
+    private LeagueEntity league;
+    private UserEntity currentUser;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        league = LeagueEntity.builder()
+                .id(1L)
+                .UUID(UUID.randomUUID().toString())
+                .name("Benchmark League")
+                .firstGameweek(1)
+                .build();
+
+        List<UserLeagueEntity> entries = new ArrayList<>(members);
+        Map<Long, Integer> ranks = new HashMap<>(members);
+        List<PredictionCountProjection> counts = new ArrayList<>(members);
+        Timestamp joinedAt = new Timestamp(System.currentTimeMillis());
+        for (long i = 1; i <= members; i++) {
+            UserEntity user = UserEntity.builder()
+                    .id(i)
+                    .UUID(UUID.randomUUID().toString())
+                    .username("user" + i)
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("user" + i + "@example.com")
+                    .totalPoints(random.nextInt(400))
+                    .build();
+            UserLeagueEntity entry = new UserLeagueEntity(user, league, user.getTotalPoints(), i == 1, i == 1);
+            entry.setJoinedAt(joinedAt);
+            entries.add(entry);
+            ranks.put(i, (int) i);
+            counts.add(predictionCount(i, 30));
+        }
+        currentUser = entries.getFirst().getUser();
+
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        UserLeagueRepository userLeagueRepository = mock(UserLeagueRepository.class, withSettings().stubOnly());
+        PredictionRepository predictionRepository = mock(PredictionRepository.class, withSettings().stubOnly());
+        MatchdayService matchdayService = mock(MatchdayService.class, withSettings().stubOnly());
+        LeaderboardService leaderboardService = mock(LeaderboardService.class, withSettings().stubOnly());
+        when(userLeagueRepository.findAllWithUserByLeague(any())).thenReturn(entries);
+        when(leaderboardService.getLeagueRanks(any())).thenReturn(ranks);
+        when(predictionRepository.countPredictionsSinceGameweekByLeague(anyLong(), anyInt(), anyInt())).thenReturn(counts);
+        when(matchdayService.getCurrentMatchday()).thenReturn(10);
+
+        leagueService = new LeagueService(mock(LeagueRepository.class), userRepository, userLeagueRepository,
+                predictionRepository, matchdayService, leaderboardService, mock(LeaguePredictionCacheService.class));
+    }
+
+    private static PredictionCountProjection predictionCount(long userId, int predictions) {
+        return new PredictionCountProjection() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Integer getPredictions() {
+                return predictions;
+            }
+        };
+    }
+
+    @Benchmark
+    public LeagueStanding leagueEntityToStanding() {
+        return leagueService.leagueEntityToStanding(league, currentUser);
+    }
+}